@@ -0,0 +1,189 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static net.contargo.validation.bigdecimal.BigDecimalValidator.CHECKS;
+
+
+/**
+ * Validates BigDecimals by one rule set and runs the checks which reject most often first, so streams with many
+ * invalid values stop at the first check more often.
+ *
+ * <p>A random sample of the values runs through all checks to count how often each check fails. Every
+ * <code>reorderInterval</code> samples the checks are ordered by their failure count relative to their cost and the
+ * new order is published to all threads. Older counts are halved at every reorder, so the order follows a changing
+ * stream. The checks keep their default order until a sampled value failed.</p>
+ *
+ * <p>The order does not change the verdict, a value is valid if and only if it passes all checks. A value failing
+ * several checks is reported with the failure of the check which runs first, so the failure message may differ from
+ * the one of {@link net.contargo.validation.bigdecimal.BigDecimalValidator#validate(java.math.BigDecimal,
+ * net.contargo.validation.bigdecimal.BigDecimalValidationRules)}.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalAdaptiveValidator validator = new BigDecimalAdaptiveValidator(new BigDecimalValidator(), rules);
+
+ for (BigDecimal amount : amounts) {
+     if (!validator.validate(amount).isValid()) {
+         ...
+     }
+ }
+ * </pre>
+ *
+ * <p>An adaptive validator is thread-safe, share one instance per rule set between all threads.</p>
+ */
+public final class BigDecimalAdaptiveValidator {
+
+    private static final int DEFAULT_SAMPLE_RATE = 64;
+    private static final int DEFAULT_REORDER_INTERVAL = 1024;
+
+    // relative costs of the checks, the min/max checks may compare BigDecimals
+    private static final int[] COSTS = { 2, 1, 3, 3, 2 };
+
+    private final BigDecimalValidator validator;
+    private final BigDecimalValidationRules rules;
+    private final int sampleRate;
+    private final int reorderInterval;
+    private final AtomicLongArray failures = new AtomicLongArray(CHECKS);
+    private final AtomicLong samples = new AtomicLong();
+
+    private volatile int[] order = {
+        BigDecimalValidator.DECIMAL_CHECK, BigDecimalValidator.FRACTIONAL_CHECK, BigDecimalValidator.PRECISION_CHECK,
+        BigDecimalValidator.TOO_BIG_CHECK, BigDecimalValidator.TOO_SMALL_CHECK
+    };
+
+    /**
+     * Adaptive validator which samples every 64th value and reorders the checks every 1024 samples.
+     *
+     * @param  validator  to validate with
+     * @param  rules  to validate by
+     */
+    public BigDecimalAdaptiveValidator(BigDecimalValidator validator, BigDecimalValidationRules rules) {
+
+        this(validator, rules, DEFAULT_SAMPLE_RATE, DEFAULT_REORDER_INTERVAL);
+    }
+
+
+    /**
+     * @param  validator  to validate with
+     * @param  rules  to validate by
+     * @param  sampleRate  on average every <code>sampleRate</code>th value runs through all checks
+     * @param  reorderInterval  count of samples after which the checks are reordered
+     */
+    public BigDecimalAdaptiveValidator(BigDecimalValidator validator, BigDecimalValidationRules rules, int sampleRate,
+        int reorderInterval) {
+
+        if (sampleRate < 1 || reorderInterval < 1) {
+            throw new IllegalArgumentException("Sample rate and reorder interval have to be positive, but were "
+                + sampleRate + " and " + reorderInterval);
+        }
+
+        this.validator = validator;
+        this.rules = rules;
+        this.sampleRate = sampleRate;
+        this.reorderInterval = reorderInterval;
+    }
+
+    /**
+     * Validates a BigDecimal by the rules of this validator.
+     *
+     * @param  bigDecimal  object to test
+     *
+     * @return  {@link net.contargo.validation.bigdecimal.BigDecimalValidationResult BigDecimalValidationResult} object
+     *          with failure message
+     */
+    public BigDecimalValidationResult validate(BigDecimal bigDecimal) {
+
+        int[] currentOrder = order;
+
+        if (bigDecimal != null && (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0)) {
+            BigDecimalValidationResult result = new BigDecimalValidationResult();
+            sample(validator.failedChecks(bigDecimal, rules, currentOrder, result));
+
+            return result;
+        }
+
+        return validator.validate(bigDecimal, rules, currentOrder);
+    }
+
+
+    public BigDecimalValidationRules getRules() {
+
+        return rules;
+    }
+
+
+    /**
+     * @return  current order of the checks, see {@link net.contargo.validation.bigdecimal.BigDecimalValidator#CHECKS}
+     */
+    int[] getOrder() {
+
+        return order.clone();
+    }
+
+
+    private void sample(int failedChecks) {
+
+        for (int check = 0; check < CHECKS; check++) {
+            if ((failedChecks & (1 << check)) != 0) {
+                failures.incrementAndGet(check);
+            }
+        }
+
+        // exactly one thread reaches each multiple of the interval
+        if (samples.incrementAndGet() % reorderInterval == 0) {
+            reorder();
+        }
+    }
+
+
+    private void reorder() {
+
+        final double[] scores = new double[CHECKS];
+        Integer[] checks = new Integer[CHECKS];
+        long total = 0;
+
+        for (int check = 0; check < CHECKS; check++) {
+            long count = failures.get(check);
+            total += count;
+
+            // decay, so the order follows the recent samples
+            failures.addAndGet(check, -(count / 2));
+
+            scores[check] = (double) count / COSTS[check];
+            checks[check] = check;
+        }
+
+        // without failures the costs alone would decide
+        if (total == 0) {
+            return;
+        }
+
+        // stable sort: equal scores keep the cheaper and then the default order
+        Arrays.sort(checks, new Comparator<Integer>() {
+
+                @Override
+                public int compare(Integer a, Integer b) {
+
+                    int byScore = Double.compare(scores[b], scores[a]);
+
+                    return byScore != 0 ? byScore : Integer.compare(COSTS[a], COSTS[b]);
+                }
+            });
+
+        int[] newOrder = new int[CHECKS];
+
+        for (int i = 0; i < CHECKS; i++) {
+            newOrder[i] = checks[i];
+        }
+
+        order = newOrder;
+    }
+}
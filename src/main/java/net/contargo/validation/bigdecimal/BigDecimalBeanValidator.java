@@ -0,0 +1,38 @@
+package net.contargo.validation.bigdecimal;
+
+import java.util.Map;
+
+
+/**
+ * Validates all {@link net.contargo.validation.bigdecimal.BigDecimalValidate BigDecimalValidate} annotated properties
+ * of a bean without reflection.
+ *
+ * <p>Implementations are generated at compile time by the
+ * {@link net.contargo.validation.bigdecimal.processor.BigDecimalValidateProcessor BigDecimalValidateProcessor} as
+ * <code>&lt;Type&gt;BigDecimalBeanValidator</code> in the package of the annotated type. They read the properties
+ * directly and use the same failure messages as the
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator}, so they can be used with or
+ * without a Bean Validation provider.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalBeanValidator&lt;Employee&gt; validator = new EmployeeBigDecimalBeanValidator();
+
+ Map&lt;String, BigDecimalValidationResult&gt; failures = validator.validate(employee);
+ * </pre>
+ *
+ * @param  <T>  type of the validated bean
+ */
+public interface BigDecimalBeanValidator<T> {
+
+    /**
+     * Validates all annotated properties of the given bean. <code>null</code> values are valid, like with the
+     * {@link net.contargo.validation.bigdecimal.BigDecimalConstraintValidator BigDecimalConstraintValidator}.
+     *
+     * @param  bean  to validate
+     *
+     * @return  results of the invalid properties by property name in declaration order, empty if all are valid
+     */
+    Map<String, BigDecimalValidationResult> validate(T bean);
+}
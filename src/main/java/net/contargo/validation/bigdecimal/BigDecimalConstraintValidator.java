@@ -13,28 +13,53 @@ import javax.validation.ConstraintValidatorContext;
  * <p>Use this Validator with the supported annotation
  * {@link net.contargo.validation.bigdecimal.BigDecimalValidate BigDecimalValidate}</p>
  *
+ * <p>The validator is thread-safe after {@link #initialize(BigDecimalValidate)}: the validation rules are immutable
+ * and published through a volatile field, the {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+ * BigDecimalValidator} is given to the constructor.</p>
+ *
+ * <p>Failures are reported with the message template, e.g. <code>{net.contargo.validation.bigdecimal.toobig}</code>,
+ * so the message interpolator of the provider renders it in the locale of the request and with the application's
+ * bundle overrides.</p>
+ *
  * @author  Tobias Schneider - schneider@synyx.de
  */
 public final class BigDecimalConstraintValidator implements ConstraintValidator<BigDecimalValidate, Object> {
 
-    private long maxDecimalPlaces;
-    private long minDecimalPlaces;
-    private long maxFractionalPlaces;
-    private double minValue;
-    private double maxValue;
+    // volatile only for the deprecated setter
+    private volatile BigDecimalValidator bigDecimalValidator;
+    private volatile BigDecimalValidationRules rules;
+
+    /**
+     * Constraint validator with a default {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+     * BigDecimalValidator}, as instantiated by the Bean Validation provider.
+     */
+    public BigDecimalConstraintValidator() {
+
+        this(new BigDecimalValidator());
+    }
+
 
-    private BigDecimalValidator bigDecimalValidator;
+    /**
+     * Constraint validator with the given {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+     * BigDecimalValidator}.
+     *
+     * @param  bigDecimalValidator  to validate with
+     */
+    public BigDecimalConstraintValidator(BigDecimalValidator bigDecimalValidator) {
+
+        this.bigDecimalValidator = bigDecimalValidator;
+    }
 
     @Override
     public void initialize(final BigDecimalValidate bigDecimalValidate) {
 
-        maxDecimalPlaces = bigDecimalValidate.maxDecimalPlaces();
-        minDecimalPlaces = bigDecimalValidate.minDecimalPlaces();
-        maxFractionalPlaces = bigDecimalValidate.maxFractionalPlaces();
-        minValue = bigDecimalValidate.minValue();
-        maxValue = bigDecimalValidate.maxValue();
+        BigDecimalValidationRules bigDecimalValidationRules = new BigDecimalValidationRules.Builder()
+            .maxDecimalPlaces(bigDecimalValidate.maxDecimalPlaces()).minDecimalPlaces(
+                bigDecimalValidate.minDecimalPlaces()).maxFractionalPlaces(bigDecimalValidate.maxFractionalPlaces())
+            .maxPrecision(bigDecimalValidate.maxPrecision()).minValue(bigDecimalValidate.minValue()).maxValue(
+                bigDecimalValidate.maxValue()).build();
 
-        bigDecimalValidator = new BigDecimalValidator();
+        rules = bigDecimalValidationRules;
     }
 
 
@@ -46,12 +71,7 @@ public final class BigDecimalConstraintValidator implements ConstraintValidator<
             return true;
         } else if (object instanceof BigDecimal) {
             BigDecimal bigDecimal = new BigDecimal(object.toString());
-
-            BigDecimalValidationRules bigDecimalValidationRules = new BigDecimalValidationRules.Builder()
-                .maxDecimalPlaces(maxDecimalPlaces).minDecimalPlaces(minDecimalPlaces).maxFractionalPlaces(
-                    maxFractionalPlaces).minValue(minValue).maxValue(maxValue).build();
-
-            BigDecimalValidationResult result = bigDecimalValidator.validate(bigDecimal, bigDecimalValidationRules);
+            BigDecimalValidationResult result = bigDecimalValidator.validate(bigDecimal, rules);
 
             if (!result.isValid()) {
                 addMessage(constraintValidatorContext, result.getFailMessage());
@@ -66,13 +86,20 @@ public final class BigDecimalConstraintValidator implements ConstraintValidator<
     }
 
 
+    /**
+     * @param  bigDecimalValidator  to validate with
+     *
+     * @deprecated  pass the validator to {@link #BigDecimalConstraintValidator(BigDecimalValidator)} instead, a
+     *              validator shared between threads should not be changed. Will be removed in the next release.
+     */
+    @Deprecated
     public void setBigDecimalValidator(BigDecimalValidator bigDecimalValidator) {
 
         this.bigDecimalValidator = bigDecimalValidator;
     }
 
 
-    private void addMessage(ConstraintValidatorContext constraintValidatorContext, String message) {
+    private static void addMessage(ConstraintValidatorContext constraintValidatorContext, String message) {
 
         if (constraintValidatorContext != null) {
             constraintValidatorContext.disableDefaultConstraintViolation();
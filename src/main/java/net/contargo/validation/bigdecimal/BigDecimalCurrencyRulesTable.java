@@ -0,0 +1,191 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Map;
+
+
+/**
+ * Table of {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules BigDecimalValidationRules} per ISO
+ * 4217 currency.
+ *
+ * <p>At construction one rule set per available {@link java.util.Currency Currency} is derived from a template, with
+ * <code>maxFractionalPlaces</code> set to the {@link java.util.Currency#getDefaultFractionDigits() default fraction
+ * digits} of the currency (e.g. JPY 0, EUR 2, BHD 3). Currencies without default fraction digits (e.g. XAU) keep the
+ * fractional places of the template. Overrides replace the derived rules of single currencies.</p>
+ *
+ * <p>The rules are stored in a table indexed by the three letters of the currency code, so validating an amount
+ * does neither build nor hash any objects to find its rules. The table is immutable and thread-safe.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalCurrencyRulesTable table = new BigDecimalCurrencyRulesTable(new BigDecimalValidationRules.Builder()
+    .minValue(0).maxValue(1000000).build());
+
+ BigDecimalValidationResult result = table.validate(new BigDecimal("100.5"), "JPY");
+ * </pre>
+ */
+public final class BigDecimalCurrencyRulesTable {
+
+    private static final String CURRENCY_UNKNOWN = "{net.contargo.validation.bigdecimal.currencyunknown}";
+    private static final int LETTERS = 26;
+
+    private final BigDecimalValidationRules[] table = new BigDecimalValidationRules[LETTERS * LETTERS * LETTERS];
+    private final BigDecimalValidator bigDecimalValidator;
+
+    /**
+     * Table with rules for all available currencies derived from the given template.
+     *
+     * @param  template  rules to derive the currency rules from
+     */
+    public BigDecimalCurrencyRulesTable(BigDecimalValidationRules template) {
+
+        this(template, Collections.<String, BigDecimalValidationRules>emptyMap(), new BigDecimalValidator());
+    }
+
+
+    /**
+     * Table with rules for all available currencies derived from the given template and overrides for single
+     * currencies.
+     *
+     * @param  template  rules to derive the currency rules from
+     * @param  overrides  rules by currency code which replace the derived rules, may contain additional codes
+     * @param  bigDecimalValidator  validator to validate the amounts with
+     */
+    public BigDecimalCurrencyRulesTable(BigDecimalValidationRules template,
+        Map<String, BigDecimalValidationRules> overrides, BigDecimalValidator bigDecimalValidator) {
+
+        this.bigDecimalValidator = bigDecimalValidator;
+
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int index = indexOf(currency.getCurrencyCode());
+
+            if (index >= 0) {
+                table[index] = derive(template, currency);
+            }
+        }
+
+        for (Map.Entry<String, BigDecimalValidationRules> override : overrides.entrySet()) {
+            int index = indexOf(override.getKey());
+
+            if (index < 0) {
+                throw new IllegalArgumentException("Invalid currency code '" + override.getKey() + "'");
+            }
+
+            table[index] = override.getValue();
+        }
+    }
+
+    /**
+     * Returns the rules of the given currency.
+     *
+     * @param  currencyCode  ISO 4217 code of the currency
+     *
+     * @return  rules of the currency or <code>null</code> if the currency is unknown
+     */
+    public BigDecimalValidationRules getRules(String currencyCode) {
+
+        int index = indexOf(currencyCode);
+
+        return index < 0 ? null : table[index];
+    }
+
+
+    /**
+     * Validates an amount by the rules of its currency.
+     *
+     * @param  amount  to validate
+     * @param  currencyCode  ISO 4217 code of the currency of the amount
+     *
+     * @return  {@link net.contargo.validation.bigdecimal.BigDecimalValidationResult BigDecimalValidationResult} object
+     *          with failure message
+     */
+    public BigDecimalValidationResult validate(BigDecimal amount, String currencyCode) {
+
+        BigDecimalValidationRules rules = getRules(currencyCode);
+
+        if (rules == null) {
+            BigDecimalValidationResult result = new BigDecimalValidationResult();
+            result.setFailMessage(CURRENCY_UNKNOWN);
+
+            return result;
+        }
+
+        return bigDecimalValidator.validate(amount, rules);
+    }
+
+
+    /**
+     * Validates pairs of amounts and currencies.
+     *
+     * @param  amounts  to validate
+     * @param  currencyCodes  ISO 4217 code of the currency of the amount with the same index
+     *
+     * @return  result per amount
+     */
+    public BigDecimalValidationResult[] validate(BigDecimal[] amounts, String[] currencyCodes) {
+
+        if (amounts.length != currencyCodes.length) {
+            throw new IllegalArgumentException("Expected one currency per amount");
+        }
+
+        BigDecimalValidationResult[] results = new BigDecimalValidationResult[amounts.length];
+
+        String lastCurrencyCode = null;
+        BigDecimalValidationRules rules = null;
+
+        for (int i = 0; i < amounts.length; i++) {
+            // batches are mostly sorted or single currency, skip the table lookup for repeated codes
+            if (currencyCodes[i] != lastCurrencyCode) {
+                lastCurrencyCode = currencyCodes[i];
+                rules = getRules(lastCurrencyCode);
+            }
+
+            if (rules == null) {
+                results[i] = new BigDecimalValidationResult();
+                results[i].setFailMessage(CURRENCY_UNKNOWN);
+            } else {
+                results[i] = bigDecimalValidator.validate(amounts[i], rules);
+            }
+        }
+
+        return results;
+    }
+
+
+    private static BigDecimalValidationRules derive(BigDecimalValidationRules template, Currency currency) {
+
+        int fractionDigits = currency.getDefaultFractionDigits();
+
+        if (fractionDigits < 0) {
+            return template;
+        }
+
+        return new BigDecimalValidationRules.Builder(template).maxFractionalPlaces(fractionDigits).build();
+    }
+
+
+    private static int indexOf(String currencyCode) {
+
+        if (currencyCode == null || currencyCode.length() != 3) {
+            return -1;
+        }
+
+        int index = 0;
+
+        for (int i = 0; i < 3; i++) {
+            int letter = currencyCode.charAt(i) - 'A';
+
+            if (letter < 0 || letter >= LETTERS) {
+                return -1;
+            }
+
+            index = index * LETTERS + letter;
+        }
+
+        return index;
+    }
+}
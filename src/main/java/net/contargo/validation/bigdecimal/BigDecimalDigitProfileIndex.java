@@ -0,0 +1,469 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+
+/**
+ * Digit profiles of many stored BigDecimals, to evaluate changed
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules BigDecimalValidationRules} against them
+ * without loading the values again.
+ *
+ * <p>The profile of a value is its precision, its decimal exponent, its sign and its first two significant digits,
+ * ten bytes per value in primitive arrays. The precision and the exponent give the decimal and fractional places
+ * exactly, the sign and the leading digits put the value into a bucket like <code>[1.2E5, 1.3E5)</code>. Only values
+ * whose bucket contains a bound of the rules have to be loaded and validated exactly.</p>
+ *
+ * <p>The evaluation gives the verdict of a {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+ * BigDecimalValidator} with fractional checks, not the failure message. Validators without fractional checks are
+ * rejected.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalDigitProfileIndex.Builder builder = new BigDecimalDigitProfileIndex.Builder();
+
+ for (BigDecimal amount : amounts) {
+     builder.add(amount);
+ }
+
+ BigDecimalDigitProfileIndex index = builder.build();
+
+ // ids of the values which may change their verdict
+ BitSet candidates = index.candidates(oldRules, newRules);
+ * </pre>
+ *
+ * <p>An index is immutable and thread-safe, the {@link Builder} is not.</p>
+ */
+public final class BigDecimalDigitProfileIndex {
+
+    private static final int MAGIC = 0x42444450;
+    private static final int VERSION = 1;
+
+    private static final byte NULL_SIGN = 2;
+
+    // verdicts of a profile, a valid one may be undecided by both bounds
+    private static final int VALID = 0;
+    private static final int INVALID = 1;
+    private static final int MIN_UNDECIDED = 2;
+    private static final int MAX_UNDECIDED = 4;
+
+    private final int size;
+    private final int[] precisions;
+    private final int[] exponents;
+    private final byte[] signs;
+    private final byte[] leadingDigits;
+
+    private BigDecimalDigitProfileIndex(int size, int[] precisions, int[] exponents, byte[] signs,
+        byte[] leadingDigits) {
+
+        this.size = size;
+        this.precisions = precisions;
+        this.exponents = exponents;
+        this.signs = signs;
+        this.leadingDigits = leadingDigits;
+    }
+
+    /**
+     * Evaluates the rules against all profiles.
+     *
+     * @param  rules  to evaluate
+     *
+     * @return  the ids of the invalid values and of the values which have to be validated exactly
+     */
+    public Evaluation evaluate(BigDecimalValidationRules rules) {
+
+        BitSet invalid = new BitSet(size);
+        BitSet undecided = new BitSet(size);
+        BitSet maxUndecided = new BitSet(size);
+
+        evaluate(rules, invalid, undecided, maxUndecided);
+        undecided.or(maxUndecided);
+
+        return new Evaluation(size, invalid, undecided);
+    }
+
+
+    /**
+     * Evaluates the rules against all profiles and validates the undecided values exactly.
+     *
+     * @param  rules  to validate with
+     * @param  validator  to validate the undecided values with, has to check fractions
+     * @param  values  source of the stored values
+     *
+     * @return  ids of the invalid values
+     */
+    public BitSet validate(BigDecimalValidationRules rules, BigDecimalValidator validator, Values values) {
+
+        if (!validator.isCheckFractions()) {
+            throw new IllegalArgumentException("The profiles are evaluated with fractional checks, "
+                + "the validator has to check fractions as well");
+        }
+
+        Evaluation evaluation = evaluate(rules);
+        BitSet invalid = evaluation.getInvalid();
+        BitSet undecided = evaluation.getUndecided();
+
+        for (int id = undecided.nextSetBit(0); id >= 0; id = undecided.nextSetBit(id + 1)) {
+            if (!validator.validate(values.get(id), rules).isValid()) {
+                invalid.set(id);
+            }
+        }
+
+        return invalid;
+    }
+
+
+    /**
+     * Compares two rule sets by the profiles.
+     *
+     * @param  oldRules  the values were validated with
+     * @param  newRules  the values will be validated with
+     *
+     * @return  ids of all values which may be valid by one and invalid by the other rules, values which are not
+     *          contained keep their verdict
+     */
+    public BitSet candidates(BigDecimalValidationRules oldRules, BigDecimalValidationRules newRules) {
+
+        BitSet candidates = new BitSet(size);
+        BitSet oldMinUndecided = new BitSet(size);
+        BitSet oldMaxUndecided = new BitSet(size);
+        evaluate(oldRules, candidates, oldMinUndecided, oldMaxUndecided);
+
+        BitSet newInvalid = new BitSet(size);
+        BitSet newMinUndecided = new BitSet(size);
+        BitSet newMaxUndecided = new BitSet(size);
+        evaluate(newRules, newInvalid, newMinUndecided, newMaxUndecided);
+
+        candidates.xor(newInvalid);
+
+        // a value compares the same with an unchanged bound by both rules
+        if (oldRules.getMinValue().compareTo(newRules.getMinValue()) != 0) {
+            candidates.or(oldMinUndecided);
+            candidates.or(newMinUndecided);
+        }
+
+        if (oldRules.getMaxValue().compareTo(newRules.getMaxValue()) != 0) {
+            candidates.or(oldMaxUndecided);
+            candidates.or(newMaxUndecided);
+        }
+
+        return candidates;
+    }
+
+
+    /**
+     * @return  count of profiled values
+     */
+    public int size() {
+
+        return size;
+    }
+
+
+    /**
+     * Writes the profiles, e.g. to keep them next to the stored values.
+     *
+     * @param  outputStream  to write to, is not closed
+     *
+     * @throws  IOException  if the profiles could not be written
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(size);
+
+        for (int id = 0; id < size; id++) {
+            output.writeInt(precisions[id]);
+            output.writeInt(exponents[id]);
+            output.writeByte(signs[id]);
+            output.writeByte(leadingDigits[id]);
+        }
+
+        output.flush();
+    }
+
+
+    /**
+     * Reads profiles written by {@link #writeTo(java.io.OutputStream)}.
+     *
+     * @param  inputStream  to read from, is not closed and not read beyond the profiles, buffer it for speed
+     *
+     * @return  the index
+     *
+     * @throws  IOException  if the profiles could not be read or have an unknown format
+     */
+    public static BigDecimalDigitProfileIndex readFrom(InputStream inputStream) throws IOException {
+
+        // without own buffer, which would read ahead into the data following the profiles
+        DataInputStream input = new DataInputStream(inputStream);
+
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Unknown digit profile format");
+        }
+
+        int size = input.readInt();
+        int[] precisions = new int[size];
+        int[] exponents = new int[size];
+        byte[] signs = new byte[size];
+        byte[] leadingDigits = new byte[size];
+
+        for (int id = 0; id < size; id++) {
+            precisions[id] = input.readInt();
+            exponents[id] = input.readInt();
+            signs[id] = input.readByte();
+            leadingDigits[id] = input.readByte();
+        }
+
+        return new BigDecimalDigitProfileIndex(size, precisions, exponents, signs, leadingDigits);
+    }
+
+
+    private void evaluate(BigDecimalValidationRules rules, BitSet invalid, BitSet minUndecided,
+        BitSet maxUndecided) {
+
+        Bound minValue = new Bound(rules.getMinValue());
+        Bound maxValue = new Bound(rules.getMaxValue());
+
+        for (int id = 0; id < size; id++) {
+            int verdict = evaluate(id, rules, minValue, maxValue);
+
+            if (verdict == INVALID) {
+                invalid.set(id);
+            }
+
+            if ((verdict & MIN_UNDECIDED) != 0) {
+                minUndecided.set(id);
+            }
+
+            if ((verdict & MAX_UNDECIDED) != 0) {
+                maxUndecided.set(id);
+            }
+        }
+    }
+
+
+    /**
+     * @return  {@link #VALID}, {@link #INVALID} or the bounds which decide the verdict of the value,
+     *          {@link #MIN_UNDECIDED} and {@link #MAX_UNDECIDED}
+     */
+    private int evaluate(int id, BigDecimalValidationRules rules, Bound minValue, Bound maxValue) {
+
+        int sign = signs[id];
+
+        if (sign == NULL_SIGN) {
+            return INVALID;
+        }
+
+        long precision = precisions[id];
+        long exponent = exponents[id];
+
+        // zero keeps its scale as negative exponent
+        long decimalPlaces = sign == 0 ? 1 : Math.max(exponent + 1, 1);
+        long fractionalPlaces = Math.max(precision - 1 - exponent, 0);
+
+        if (decimalPlaces < rules.getMinDecimalPlaces() || decimalPlaces > rules.getMaxDecimalPlaces()
+                || fractionalPlaces > rules.getMaxFractionalPlaces()
+                || (!rules.isPrecisionImplied() && precision > rules.getMaxPrecision())) {
+            return INVALID;
+        }
+
+        if (sign == 0) {
+            boolean valid = rules.getMinValue().signum() <= 0 && rules.getMaxValue().signum() >= 0;
+
+            return valid ? VALID : INVALID;
+        }
+
+        int leading = leadingDigits[id];
+        int toMax = maxValue.compareTo(sign, exponent, leading);
+        int toMin = minValue.compareTo(sign, exponent, leading);
+
+        if (toMax > 0 || toMin < 0) {
+            return INVALID;
+        }
+
+        // a value in the bucket of an exact bound is at least as far from zero as the bound
+        boolean aboveMin = toMin > 0 || (minValue.exact && sign > 0);
+        boolean belowMax = toMax < 0 || (maxValue.exact && sign < 0);
+
+        return (aboveMin ? VALID : MIN_UNDECIDED) | (belowMax ? VALID : MAX_UNDECIDED);
+    }
+
+
+    /**
+     * @return  the first two significant digits of a non zero value, 10 to 99
+     */
+    private static int leadingDigits(BigDecimal bigDecimal) {
+
+        BigDecimal rounded = bigDecimal.abs().round(new MathContext(2, RoundingMode.DOWN));
+        int digits = rounded.unscaledValue().intValue();
+
+        return rounded.precision() == 1 ? digits * 10 : digits;
+    }
+
+    /**
+     * Source of the stored values, to validate the values which can not be decided by their profile.
+     */
+    public interface Values {
+
+        /**
+         * @param  id  of the value, the order it was added to the builder
+         *
+         * @return  the value
+         */
+        BigDecimal get(int id);
+    }
+
+    /**
+     * Result of the evaluation of rules against the profiles.
+     */
+    public static final class Evaluation {
+
+        private final int size;
+        private final BitSet invalid;
+        private final BitSet undecided;
+
+        private Evaluation(int size, BitSet invalid, BitSet undecided) {
+
+            this.size = size;
+            this.invalid = invalid;
+            this.undecided = undecided;
+        }
+
+        /**
+         * @return  ids of the values which are invalid for sure
+         */
+        public BitSet getInvalid() {
+
+            return (BitSet) invalid.clone();
+        }
+
+
+        /**
+         * @return  ids of the values which have to be validated exactly
+         */
+        public BitSet getUndecided() {
+
+            return (BitSet) undecided.clone();
+        }
+
+
+        /**
+         * @return  ids of the values which are valid for sure
+         */
+        public BitSet getValid() {
+
+            BitSet valid = new BitSet(size);
+            valid.set(0, size);
+            valid.andNot(invalid);
+            valid.andNot(undecided);
+
+            return valid;
+        }
+    }
+
+    /**
+     * Builder class to collect the profiles of the values in the order of their ids.
+     */
+    public static class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private int size;
+        private int[] precisions = new int[INITIAL_CAPACITY];
+        private int[] exponents = new int[INITIAL_CAPACITY];
+        private byte[] signs = new byte[INITIAL_CAPACITY];
+        private byte[] leadingDigits = new byte[INITIAL_CAPACITY];
+
+        /**
+         * Adds the profile of the next value.
+         *
+         * @param  bigDecimal  value, may be <code>null</code>
+         *
+         * @return  id of the value
+         */
+        public int add(BigDecimal bigDecimal) {
+
+            if (size == signs.length) {
+                int capacity = size * 2;
+                precisions = Arrays.copyOf(precisions, capacity);
+                exponents = Arrays.copyOf(exponents, capacity);
+                signs = Arrays.copyOf(signs, capacity);
+                leadingDigits = Arrays.copyOf(leadingDigits, capacity);
+            }
+
+            if (bigDecimal == null) {
+                signs[size] = NULL_SIGN;
+            } else if (bigDecimal.signum() == 0) {
+                precisions[size] = 1;
+                exponents[size] = -bigDecimal.scale();
+            } else {
+                precisions[size] = bigDecimal.precision();
+                exponents[size] = (int) BigDecimalDigits.magnitudeExponent(bigDecimal);
+                signs[size] = (byte) bigDecimal.signum();
+                leadingDigits[size] = (byte) leadingDigits(bigDecimal);
+            }
+
+            return size++;
+        }
+
+
+        public BigDecimalDigitProfileIndex build() {
+
+            return new BigDecimalDigitProfileIndex(size, Arrays.copyOf(precisions, size),
+                    Arrays.copyOf(exponents, size), Arrays.copyOf(signs, size), Arrays.copyOf(leadingDigits, size));
+        }
+    }
+
+    /**
+     * Bucket of a bound, compared with the buckets of the values.
+     */
+    private static final class Bound {
+
+        private final int sign;
+        private final long exponent;
+        private final int leading;
+
+        // the bound is the lower end of its bucket
+        private final boolean exact;
+
+        private Bound(BigDecimal bound) {
+
+            sign = bound.signum();
+            exponent = sign == 0 ? 0 : BigDecimalDigits.magnitudeExponent(bound);
+            leading = sign == 0 ? 0 : leadingDigits(bound);
+            exact = sign != 0 && bound.stripTrailingZeros().precision() <= 2;
+        }
+
+        /**
+         * Compares a bucket of non zero values with the bound.
+         *
+         * @return  -1 if all values of the bucket are less than the bound, 1 if all are greater, 0 if the bound is
+         *          in the bucket
+         */
+        private int compareTo(int valueSign, long valueExponent, int valueLeading) {
+
+            if (valueSign != sign) {
+                return valueSign < sign ? -1 : 1;
+            }
+
+            int magnitude = valueExponent != exponent ? (valueExponent < exponent ? -1 : 1)
+                                                      : Integer.compare(valueLeading, leading);
+
+            return magnitude * valueSign;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+
+/**
+ * Digit counts of a BigDecimal as they are validated by the
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator}.
+ *
+ * <p>A negative scale (e.g.: 1E8) counts as decimal places, zero and values less than one have one decimal
+ * place.</p>
+ */
+final class BigDecimalDigits {
+
+    private static final double LOG10_2 = 0.30102999566398119521;
+    private static final double LOG10_2_MARGIN = 1e-6;
+
+    private BigDecimalDigits() {
+
+        // hide constructor
+    }
+
+    /**
+     * Counts the decimal places (digits before the point).
+     *
+     * @param  bigDecimal  to count
+     *
+     * @return  count of decimal places, at least one
+     */
+    static long decimalPlaces(BigDecimal bigDecimal) {
+
+        if (bigDecimal.signum() == 0) {
+            return 1;
+        }
+
+        return Math.max((long) bigDecimal.precision() - bigDecimal.scale(), 1);
+    }
+
+
+    /**
+     * Counts the fractional places (digits after the point), trailing zeros included.
+     *
+     * @param  bigDecimal  to count
+     *
+     * @return  count of fractional places
+     */
+    static long fractionalPlaces(BigDecimal bigDecimal) {
+
+        return Math.max(bigDecimal.scale(), 0);
+    }
+
+
+    /**
+     * Checks if a BigDecimal has more significant digits than the given maximum.
+     *
+     * <p>The digits are estimated by the bit length of the unscaled value, only values whose estimate is ambiguous
+     * are counted exactly. Counting the digits of a large value needs many divisions.</p>
+     *
+     * @param  bigDecimal  to check
+     * @param  maxPrecision  max count of significant digits
+     *
+     * @return  <code>true</code> if the precision of the BigDecimal is greater than maxPrecision
+     */
+    static boolean exceedsPrecision(BigDecimal bigDecimal, long maxPrecision) {
+
+        if (maxPrecision >= Integer.MAX_VALUE) {
+            return false;
+        }
+
+        long bitLength = bigDecimal.unscaledValue().bitLength();
+
+        if (maxDigits(bitLength) <= maxPrecision) {
+            return false;
+        }
+
+        if (minDigits(bitLength) > maxPrecision) {
+            return true;
+        }
+
+        return bigDecimal.precision() > maxPrecision;
+    }
+
+
+    /**
+     * Returns the decimal exponent of the magnitude, <code>10^exponent &lt;= |bigDecimal| &lt;
+     * 10^(exponent + 1)</code>.
+     *
+     * @param  bigDecimal  to get the exponent of
+     *
+     * @return  <code>floor(log10(|bigDecimal|))</code>, zero if bigDecimal is zero
+     */
+    static long magnitudeExponent(BigDecimal bigDecimal) {
+
+        if (bigDecimal.signum() == 0) {
+            return 0;
+        }
+
+        return (long) bigDecimal.precision() - bigDecimal.scale() - 1;
+    }
+
+
+    /**
+     * Lower bound of the count of decimal digits of an integer with the given bit length.
+     *
+     * @param  bitLength  of the magnitude, the magnitude is greater than <code>2^(bitLength - 1)</code>
+     *
+     * @return  lower bound of the count of digits, at least one
+     */
+    static long minDigits(long bitLength) {
+
+        if (bitLength <= 1) {
+            return 1;
+        }
+
+        // the margin covers the rounding error of the double multiplication
+        return Math.max((long) Math.floor((bitLength - 1) * LOG10_2 - LOG10_2_MARGIN) + 1, 1);
+    }
+
+
+    /**
+     * Upper bound of the count of decimal digits of an integer with the given bit length.
+     *
+     * @param  bitLength  of the magnitude, the magnitude is less than or equal to <code>2^bitLength</code>
+     *
+     * @return  upper bound of the count of digits, at least one
+     */
+    static long maxDigits(long bitLength) {
+
+        if (bitLength <= 0) {
+            return 1;
+        }
+
+        return (long) Math.floor(bitLength * LOG10_2 + LOG10_2_MARGIN) + 1;
+    }
+}
@@ -0,0 +1,949 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+
+
+/**
+ * Compressed set of row numbers, e.g. of the rows which failed a validation run over billions of rows.
+ *
+ * <p>The rows are split into blocks of 65536 rows by their high bits. Every block which contains rows is kept in the
+ * smallest of three containers: a sorted array of the low 16 bits for a few rows, a bitmap of 8 KB for many rows or
+ * a list of runs for clustered rows. {@link #optimize()} converts every block to its smallest container after the
+ * rows are added, union and intersection work block by block.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalFailureBitmap failures = new BigDecimalFailureBitmap();
+ failures.add(4711L);
+ failures.add(1000000000L);
+ failures.optimize();
+
+ for (long row = failures.nextRow(0); row >= 0; row = failures.nextRow(row + 1)) {
+     ...
+ }
+ * </pre>
+ *
+ * <p>A bitmap is not thread-safe, use one per thread and combine them with {@link #or(BigDecimalFailureBitmap)}.</p>
+ */
+public final class BigDecimalFailureBitmap {
+
+    private static final int BLOCK_BITS = 16;
+    private static final int BLOCK_MASK = 0xFFFF;
+
+    // an array container is smaller than a bitmap up to this cardinality
+    private static final int MAX_ARRAY_SIZE = 4096;
+    private static final int WORDS = 1024;
+
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+    private static final byte RUNS = 2;
+
+    private long[] keys = new long[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Adds a row.
+     *
+     * @param  row  number of the row, not negative
+     */
+    public void add(long row) {
+
+        if (row < 0) {
+            throw new IllegalArgumentException("Row has to be positive, but was " + row);
+        }
+
+        long key = row >>> BLOCK_BITS;
+        int index = indexOf(key);
+
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayContainer());
+        }
+
+        containers[index] = containers[index].add((int) row & BLOCK_MASK);
+    }
+
+
+    /**
+     * @param  row  number of the row
+     *
+     * @return  <code>true</code> if the row was added
+     */
+    public boolean contains(long row) {
+
+        if (row < 0) {
+            return false;
+        }
+
+        int index = indexOf(row >>> BLOCK_BITS);
+
+        return index >= 0 && containers[index].contains((int) row & BLOCK_MASK);
+    }
+
+
+    /**
+     * @return  count of rows
+     */
+    public long cardinality() {
+
+        long cardinality = 0;
+
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+
+        return cardinality;
+    }
+
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+
+    /**
+     * Returns the first row which is greater than or equal to the given row, like
+     * {@link java.util.BitSet#nextSetBit(int)}.
+     *
+     * @param  from  row to start from
+     *
+     * @return  the row or <code>-1</code> if there is none
+     */
+    public long nextRow(long from) {
+
+        long start = Math.max(from, 0);
+        int index = indexOf(start >>> BLOCK_BITS);
+        int low = (int) start & BLOCK_MASK;
+
+        if (index < 0) {
+            index = -index - 1;
+            low = 0;
+        }
+
+        for (; index < size; index++) {
+            int next = containers[index].next(low);
+
+            if (next >= 0) {
+                return (keys[index] << BLOCK_BITS) | next;
+            }
+
+            low = 0;
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * @param  other  bitmap to combine with
+     *
+     * @return  new bitmap with the rows of both bitmaps
+     */
+    public BigDecimalFailureBitmap or(BigDecimalFailureBitmap other) {
+
+        BigDecimalFailureBitmap result = new BigDecimalFailureBitmap();
+        int i = 0;
+        int j = 0;
+
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || other.keys[j] < keys[i]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * @param  other  bitmap to intersect with
+     *
+     * @return  new bitmap with the rows contained in both bitmaps
+     */
+    public BigDecimalFailureBitmap and(BigDecimalFailureBitmap other) {
+
+        BigDecimalFailureBitmap result = new BigDecimalFailureBitmap();
+        int i = 0;
+        int j = 0;
+
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (other.keys[j] < keys[i]) {
+                j++;
+            } else {
+                Container container = and(containers[i], other.containers[j]);
+
+                if (container.cardinality() > 0) {
+                    result.append(keys[i], container);
+                }
+
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Converts every block to its smallest container, call it after adding the rows.
+     */
+    public void optimize() {
+
+        for (int i = 0; i < size; i++) {
+            containers[i] = best(containers[i].toWords());
+        }
+    }
+
+
+    /**
+     * @return  count of bytes written by {@link #writeTo(java.io.DataOutput)}
+     */
+    public long serializedSize() {
+
+        long bytes = 4;
+
+        for (int i = 0; i < size; i++) {
+            bytes += 8 + 1 + containers[i].serializedSize();
+        }
+
+        return bytes;
+    }
+
+
+    /**
+     * Writes the bitmap in a compact binary format.
+     *
+     * @param  output  to write to
+     *
+     * @throws  IOException  if the bitmap could not be written
+     */
+    public void writeTo(DataOutput output) throws IOException {
+
+        output.writeInt(size);
+
+        for (int i = 0; i < size; i++) {
+            output.writeLong(keys[i]);
+            containers[i].write(output);
+        }
+    }
+
+
+    /**
+     * Reads a bitmap written by {@link #writeTo(java.io.DataOutput)}.
+     *
+     * @param  input  to read from
+     *
+     * @return  the bitmap
+     *
+     * @throws  IOException  if the bitmap could not be read
+     */
+    public static BigDecimalFailureBitmap readFrom(DataInput input) throws IOException {
+
+        BigDecimalFailureBitmap bitmap = new BigDecimalFailureBitmap();
+        int size = input.readInt();
+
+        for (int i = 0; i < size; i++) {
+            long key = input.readLong();
+            byte type = input.readByte();
+
+            switch (type) {
+                case ARRAY:
+                    bitmap.append(key, ArrayContainer.read(input));
+                    break;
+
+                case BITMAP:
+                    bitmap.append(key, BitmapContainer.read(input));
+                    break;
+
+                case RUNS:
+                    bitmap.append(key, RunContainer.read(input));
+                    break;
+
+                default:
+                    throw new IOException("Unknown container type " + type);
+            }
+        }
+
+        return bitmap;
+    }
+
+
+    @Override
+    public boolean equals(Object object) {
+
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof BigDecimalFailureBitmap)) {
+            return false;
+        }
+
+        BigDecimalFailureBitmap other = (BigDecimalFailureBitmap) object;
+
+        if (size != other.size) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i]
+                    || !Arrays.equals(containers[i].toWords(), other.containers[i].toWords())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        int hash = 1;
+
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + (int) (keys[i] ^ (keys[i] >>> 32));
+            hash = 31 * hash + Arrays.hashCode(containers[i].toWords());
+        }
+
+        return hash;
+    }
+
+
+    /**
+     * Container type of the blocks, for tests.
+     */
+    byte[] containerTypes() {
+
+        byte[] types = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            types[i] = containers[i].type();
+        }
+
+        return types;
+    }
+
+
+    private int indexOf(long key) {
+
+        // rows are mostly added in ascending order
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+
+    private void insert(int index, long key, Container container) {
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+
+    private void append(long key, Container container) {
+
+        insert(size, key, container);
+    }
+
+
+    private static Container or(Container a, Container b) {
+
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                && a.cardinality() + b.cardinality() <= MAX_ARRAY_SIZE) {
+            return ((ArrayContainer) a).or((ArrayContainer) b);
+        }
+
+        long[] words = a.toWords();
+        long[] otherWords = b.toWords();
+
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= otherWords[i];
+        }
+
+        return best(words);
+    }
+
+
+    private static Container and(Container a, Container b) {
+
+        if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).and(b);
+        }
+
+        if (b instanceof ArrayContainer) {
+            return ((ArrayContainer) b).and(a);
+        }
+
+        long[] words = a.toWords();
+        long[] otherWords = b.toWords();
+
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= otherWords[i];
+        }
+
+        return best(words);
+    }
+
+
+    /**
+     * Chooses the smallest container for the rows of a block.
+     */
+    private static Container best(long[] words) {
+
+        int cardinality = 0;
+        int runs = 0;
+        long previousTop = 0;
+
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+
+            // a run starts at every set bit whose lower neighbour is not set
+            runs += Long.bitCount(word & ~((word << 1) | previousTop));
+            previousTop = word >>> 63;
+        }
+
+        int arrayBytes = cardinality <= MAX_ARRAY_SIZE ? 2 + 2 * cardinality : Integer.MAX_VALUE;
+        int runBytes = 2 + 4 * runs;
+        int bitmapBytes = 8 * WORDS;
+
+        if (runBytes < arrayBytes && runBytes < bitmapBytes) {
+            return RunContainer.of(words, runs);
+        }
+
+        if (arrayBytes <= bitmapBytes) {
+            return ArrayContainer.of(words, cardinality);
+        }
+
+        return new BitmapContainer(words, cardinality);
+    }
+
+    /**
+     * Rows of a block, by their low 16 bits.
+     */
+    private abstract static class Container {
+
+        abstract Container add(int value);
+
+
+        abstract boolean contains(int value);
+
+
+        abstract int cardinality();
+
+
+        /**
+         * @return  the first value greater than or equal to from, <code>-1</code> if there is none
+         */
+        abstract int next(int from);
+
+
+        /**
+         * @return  new bitmap of the values
+         */
+        abstract long[] toWords();
+
+
+        abstract Container copy();
+
+
+        abstract byte type();
+
+
+        abstract int serializedSize();
+
+
+        abstract void write(DataOutput output) throws IOException;
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+
+            this(new char[4], 0);
+        }
+
+
+        private ArrayContainer(char[] values, int cardinality) {
+
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(int value) {
+
+            int index = cardinality > 0 && values[cardinality - 1] < value
+                ? -cardinality - 1 : Arrays.binarySearch(values, 0, cardinality, (char) value);
+
+            if (index >= 0) {
+                return this;
+            }
+
+            if (cardinality == MAX_ARRAY_SIZE) {
+                return new BitmapContainer(toWords(), cardinality).add(value);
+            }
+
+            index = -index - 1;
+
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, 4), MAX_ARRAY_SIZE));
+            }
+
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = (char) value;
+            cardinality++;
+
+            return this;
+        }
+
+
+        @Override
+        boolean contains(int value) {
+
+            return Arrays.binarySearch(values, 0, cardinality, (char) value) >= 0;
+        }
+
+
+        @Override
+        int cardinality() {
+
+            return cardinality;
+        }
+
+
+        @Override
+        int next(int from) {
+
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) from);
+
+            if (index < 0) {
+                index = -index - 1;
+            }
+
+            return index < cardinality ? values[index] : -1;
+        }
+
+
+        @Override
+        long[] toWords() {
+
+            long[] words = new long[WORDS];
+
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+
+            return words;
+        }
+
+
+        @Override
+        Container copy() {
+
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+
+        @Override
+        byte type() {
+
+            return ARRAY;
+        }
+
+
+        @Override
+        int serializedSize() {
+
+            return 2 + 2 * cardinality;
+        }
+
+
+        @Override
+        void write(DataOutput output) throws IOException {
+
+            output.writeByte(ARRAY);
+            output.writeChar(cardinality);
+
+            for (int i = 0; i < cardinality; i++) {
+                output.writeChar(values[i]);
+            }
+        }
+
+
+        private ArrayContainer or(ArrayContainer other) {
+
+            char[] merged = new char[cardinality + other.cardinality];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+
+            while (i < cardinality || j < other.cardinality) {
+                if (j == other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == cardinality || other.values[j] < values[i]) {
+                    merged[count++] = other.values[j++];
+                } else {
+                    merged[count++] = values[i++];
+                    j++;
+                }
+            }
+
+            return new ArrayContainer(merged, count);
+        }
+
+
+        private ArrayContainer and(Container other) {
+
+            char[] intersection = new char[cardinality];
+            int count = 0;
+
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    intersection[count++] = values[i];
+                }
+            }
+
+            return new ArrayContainer(intersection, count);
+        }
+
+
+        private static ArrayContainer of(long[] words, int cardinality) {
+
+            char[] values = new char[Math.max(cardinality, 1)];
+            int count = 0;
+
+            for (int i = 0; i < WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    values[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+
+            return new ArrayContainer(values, count);
+        }
+
+
+        private static ArrayContainer read(DataInput input) throws IOException {
+
+            int cardinality = input.readChar();
+            char[] values = new char[Math.max(cardinality, 1)];
+
+            for (int i = 0; i < cardinality; i++) {
+                values[i] = input.readChar();
+            }
+
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(int value) {
+
+            long bit = 1L << value;
+
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+
+            return this;
+        }
+
+
+        @Override
+        boolean contains(int value) {
+
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+
+        @Override
+        int cardinality() {
+
+            return cardinality;
+        }
+
+
+        @Override
+        int next(int from) {
+
+            int index = from >>> 6;
+            long word = words[index] & (-1L << from);
+
+            while (word == 0) {
+                if (++index == WORDS) {
+                    return -1;
+                }
+
+                word = words[index];
+            }
+
+            return (index << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+
+        @Override
+        long[] toWords() {
+
+            return words.clone();
+        }
+
+
+        @Override
+        Container copy() {
+
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+
+        @Override
+        byte type() {
+
+            return BITMAP;
+        }
+
+
+        @Override
+        int serializedSize() {
+
+            return 8 * WORDS;
+        }
+
+
+        @Override
+        void write(DataOutput output) throws IOException {
+
+            output.writeByte(BITMAP);
+
+            for (long word : words) {
+                output.writeLong(word);
+            }
+        }
+
+
+        private static BitmapContainer read(DataInput input) throws IOException {
+
+            long[] words = new long[WORDS];
+            int cardinality = 0;
+
+            for (int i = 0; i < WORDS; i++) {
+                words[i] = input.readLong();
+                cardinality += Long.bitCount(words[i]);
+            }
+
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+
+    private static final class RunContainer extends Container {
+
+        // first value and length - 1 of every run, ascending
+        private final char[] starts;
+        private final char[] lengths;
+        private final int runs;
+        private final int cardinality;
+
+        private RunContainer(char[] starts, char[] lengths, int runs) {
+
+            this.starts = starts;
+            this.lengths = lengths;
+            this.runs = runs;
+
+            int count = 0;
+
+            for (int i = 0; i < runs; i++) {
+                count += lengths[i] + 1;
+            }
+
+            this.cardinality = count;
+        }
+
+        @Override
+        Container add(int value) {
+
+            if (contains(value)) {
+                return this;
+            }
+
+            // runs are built by optimize, single rows are added to a bitmap
+            long[] words = toWords();
+            words[value >>> 6] |= 1L << value;
+
+            return new BitmapContainer(words, cardinality + 1);
+        }
+
+
+        @Override
+        boolean contains(int value) {
+
+            int index = runIndex(value);
+
+            return index >= 0 && value <= starts[index] + lengths[index];
+        }
+
+
+        @Override
+        int cardinality() {
+
+            return cardinality;
+        }
+
+
+        @Override
+        int next(int from) {
+
+            int index = runIndex(from);
+
+            if (index >= 0 && from <= starts[index] + lengths[index]) {
+                return from;
+            }
+
+            return index + 1 < runs ? starts[index + 1] : -1;
+        }
+
+
+        @Override
+        long[] toWords() {
+
+            long[] words = new long[WORDS];
+
+            for (int i = 0; i < runs; i++) {
+                int end = starts[i] + lengths[i];
+
+                for (int value = starts[i]; value <= end; value++) {
+                    words[value >>> 6] |= 1L << value;
+                }
+            }
+
+            return words;
+        }
+
+
+        @Override
+        Container copy() {
+
+            return this;
+        }
+
+
+        @Override
+        byte type() {
+
+            return RUNS;
+        }
+
+
+        @Override
+        int serializedSize() {
+
+            return 2 + 4 * runs;
+        }
+
+
+        @Override
+        void write(DataOutput output) throws IOException {
+
+            output.writeByte(RUNS);
+            output.writeChar(runs);
+
+            for (int i = 0; i < runs; i++) {
+                output.writeChar(starts[i]);
+                output.writeChar(lengths[i]);
+            }
+        }
+
+
+        /**
+         * @return  index of the last run starting at or before the value, <code>-1</code> if there is none
+         */
+        private int runIndex(int value) {
+
+            int index = Arrays.binarySearch(starts, 0, runs, (char) value);
+
+            return index >= 0 ? index : -index - 2;
+        }
+
+
+        private static RunContainer of(long[] words, int runs) {
+
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = -1;
+            int previous = -2;
+
+            for (int i = 0; i < WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    int value = (i << 6) + Long.numberOfTrailingZeros(word);
+
+                    if (value == previous + 1) {
+                        lengths[run]++;
+                    } else {
+                        run++;
+                        starts[run] = (char) value;
+                    }
+
+                    previous = value;
+                }
+            }
+
+            return new RunContainer(starts, lengths, runs);
+        }
+
+
+        private static RunContainer read(DataInput input) throws IOException {
+
+            int runs = input.readChar();
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+
+            for (int i = 0; i < runs; i++) {
+                starts[i] = input.readChar();
+                lengths[i] = input.readChar();
+            }
+
+            return new RunContainer(starts, lengths, runs);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.math.BigDecimal;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+
+/**
+ * Rows which failed a validation run, one
+ * {@link net.contargo.validation.bigdecimal.BigDecimalFailureBitmap BigDecimalFailureBitmap} per failure message.
+ *
+ * <p>Failures are mostly sparse and clustered, so the compressed bitmaps stay small even for runs over billions of
+ * rows. The bitmaps of the failure messages can be combined, e.g. to get the rows which are too big in one run and
+ * invalid in another one, and the index can be written to a file for a later inspection.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalFailureIndex failures = new BigDecimalFailureIndex();
+
+ for (long row = 0; row < rowCount; row += batch.length) {
+     readAmounts(row, batch);
+     failures.validate(validator, batch, batch.length, row, rules);
+ }
+
+ failures.optimize();
+ failures.writeTo(outputStream);
+ * </pre>
+ *
+ * <p>An index is not thread-safe, use one per thread and combine them with
+ * {@link #merge(BigDecimalFailureIndex)}.</p>
+ */
+public final class BigDecimalFailureIndex {
+
+    private static final int MAGIC = 0x42444649;
+    private static final int VERSION = 1;
+
+    private final Map<String, BigDecimalFailureBitmap> bitmaps = new TreeMap<>();
+
+    /**
+     * Validates a batch of values and adds the rows of the invalid ones.
+     *
+     * @param  validator  to validate with
+     * @param  values  to validate
+     * @param  count  of values
+     * @param  firstRow  row of the first value
+     * @param  rules  to validate with
+     *
+     * @return  count of invalid values
+     */
+    public int validate(BigDecimalValidator validator, BigDecimal[] values, int count, long firstRow,
+        BigDecimalValidationRules rules) {
+
+        int invalid = 0;
+
+        for (int i = 0; i < count; i++) {
+            String failMessage = validator.validate(values[i], rules).getFailMessage();
+
+            if (failMessage != null) {
+                add(firstRow + i, failMessage);
+                invalid++;
+            }
+        }
+
+        return invalid;
+    }
+
+
+    /**
+     * Adds a failed row.
+     *
+     * @param  row  number of the row, not negative
+     * @param  failMessage  of the failure
+     */
+    public void add(long row, String failMessage) {
+
+        BigDecimalFailureBitmap bitmap = bitmaps.get(failMessage);
+
+        if (bitmap == null) {
+            bitmap = new BigDecimalFailureBitmap();
+            bitmaps.put(failMessage, bitmap);
+        }
+
+        bitmap.add(row);
+    }
+
+
+    /**
+     * Adds the failed rows of another index, e.g. of another thread.
+     *
+     * @param  other  index to add
+     */
+    public void merge(BigDecimalFailureIndex other) {
+
+        for (Map.Entry<String, BigDecimalFailureBitmap> entry : other.bitmaps.entrySet()) {
+            BigDecimalFailureBitmap bitmap = bitmaps.get(entry.getKey());
+
+            bitmaps.put(entry.getKey(), bitmap == null ? entry.getValue().or(new BigDecimalFailureBitmap())
+                                                       : bitmap.or(entry.getValue()));
+        }
+    }
+
+
+    /**
+     * @return  the failure messages with failed rows, sorted
+     */
+    public Set<String> getFailMessages() {
+
+        return Collections.unmodifiableSet(bitmaps.keySet());
+    }
+
+
+    /**
+     * @param  failMessage  of the failure
+     *
+     * @return  the rows which failed with the given message, do not modify it
+     */
+    public BigDecimalFailureBitmap get(String failMessage) {
+
+        BigDecimalFailureBitmap bitmap = bitmaps.get(failMessage);
+
+        return bitmap == null ? new BigDecimalFailureBitmap() : bitmap;
+    }
+
+
+    /**
+     * @return  new bitmap with all failed rows
+     */
+    public BigDecimalFailureBitmap getAll() {
+
+        BigDecimalFailureBitmap all = new BigDecimalFailureBitmap();
+
+        for (BigDecimalFailureBitmap bitmap : bitmaps.values()) {
+            all = all.or(bitmap);
+        }
+
+        return all;
+    }
+
+
+    /**
+     * Converts the bitmaps to their smallest form, call it after the validation run.
+     */
+    public void optimize() {
+
+        for (BigDecimalFailureBitmap bitmap : bitmaps.values()) {
+            bitmap.optimize();
+        }
+    }
+
+
+    /**
+     * Writes the index in a compact binary format.
+     *
+     * @param  outputStream  to write to, it is not closed
+     *
+     * @throws  IOException  if the index could not be written
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        write(output);
+        output.flush();
+    }
+
+
+    /**
+     * Reads an index written by {@link #writeTo(java.io.OutputStream)}.
+     *
+     * @param  inputStream  to read from, it is not closed and not read beyond the index, buffer it for speed
+     *
+     * @return  the index
+     *
+     * @throws  IOException  if the index could not be read
+     */
+    public static BigDecimalFailureIndex readFrom(InputStream inputStream) throws IOException {
+
+        // without own buffer, which would read ahead into the data following the index
+        DataInputStream input = new DataInputStream(inputStream);
+
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Unknown failure index format");
+        }
+
+        return read(input);
+    }
+
+
+    /**
+     * Writes the index without format header, as part of another format.
+     */
+    void write(DataOutput output) throws IOException {
+
+        output.writeInt(bitmaps.size());
+
+        for (Map.Entry<String, BigDecimalFailureBitmap> entry : bitmaps.entrySet()) {
+            output.writeUTF(entry.getKey());
+            entry.getValue().writeTo(output);
+        }
+    }
+
+
+    static BigDecimalFailureIndex read(DataInput input) throws IOException {
+
+        BigDecimalFailureIndex index = new BigDecimalFailureIndex();
+        int size = input.readInt();
+
+        for (int i = 0; i < size; i++) {
+            String failMessage = input.readUTF();
+            index.bitmaps.put(failMessage, BigDecimalFailureBitmap.readFrom(input));
+        }
+
+        return index;
+    }
+}
@@ -0,0 +1,22 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+
+/**
+ * Listener which is notified about every failed validation of a
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator}.
+ *
+ * <p>Listeners are called on the validating thread, so implementations have to be thread-safe and cheap.</p>
+ */
+public interface BigDecimalFailureListener {
+
+    /**
+     * Called after a value failed the validation.
+     *
+     * @param  bigDecimal  the invalid value, may be <code>null</code>
+     * @param  rules  the value was validated with
+     * @param  failMessage  message of the failure, e.g. <code>{net.contargo.validation.bigdecimal.toobig}</code>
+     */
+    void onFailure(BigDecimal bigDecimal, BigDecimalValidationRules rules, String failMessage);
+}
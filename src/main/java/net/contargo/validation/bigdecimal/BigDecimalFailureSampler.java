@@ -0,0 +1,483 @@
+package net.contargo.validation.bigdecimal;
+
+import java.lang.ref.WeakReference;
+
+import java.math.BigDecimal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Keeps a fixed size random sample of the failing values per failure message and rule set, plus the first and the
+ * last failing value, to see examples of a failing feed without logging every failure.
+ *
+ * <p>Every thread records its failures into reservoirs of its own (algorithm R), so recording threads never wait for
+ * each other, only {@link #getSamples()} briefly locks the reservoirs of a thread while it copies them and merges
+ * them with a weighted sample. The reservoirs of finished threads are merged into one shared set of reservoirs, so
+ * thread pools which replace their threads do not accumulate them.</p>
+ *
+ * <p>Rule sets are distinguished by identity. Every thread keeps the reservoirs of at most <code>maxRuleSets</code>
+ * rule sets and drops the ones of the least recently failed rule set beyond that, so rules which are built per
+ * request or replaced by a registry reload do not accumulate. The sampler holds at most <code>(recording threads +
+ * 1) * maxRuleSets * failure messages * reservoirSize</code> values.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalFailureSampler sampler = new BigDecimalFailureSampler(20);
+ BigDecimalValidator validator = new BigDecimalValidator(true, sampler);
+
+ ...
+
+ for (BigDecimalFailureSampler.Sample sample : sampler.getSamples()) {
+     log.info("{} failures with {}, e.g. {}", sample.getCount(), sample.getFailMessage(), sample.getValues());
+ }
+ * </pre>
+ */
+public class BigDecimalFailureSampler implements BigDecimalFailureListener {
+
+    /**
+     * Default of the count of rule sets sampled per thread.
+     */
+    public static final int DEFAULT_MAX_RULE_SETS = 64;
+
+    private final int reservoirSize;
+    private final int maxRuleSets;
+
+    // guarded by itself, taken when a thread records its first failure and when reading the samples
+    private final List<ThreadReservoirs> threads = new ArrayList<>();
+
+    // reservoirs of finished threads, guarded by threads
+    private final ThreadReservoirs finished;
+
+    private final ThreadLocal<ThreadReservoirs> current = new ThreadLocal<ThreadReservoirs>() {
+
+        @Override
+        protected ThreadReservoirs initialValue() {
+
+            return register();
+        }
+    };
+
+    /**
+     * Sampler for up to {@value #DEFAULT_MAX_RULE_SETS} rule sets per thread.
+     *
+     * @param  reservoirSize  count of sampled values per failure message and rule set
+     */
+    public BigDecimalFailureSampler(int reservoirSize) {
+
+        this(reservoirSize, DEFAULT_MAX_RULE_SETS);
+    }
+
+
+    /**
+     * @param  reservoirSize  count of sampled values per failure message and rule set
+     * @param  maxRuleSets  count of rule sets sampled per thread, the least recently failed ones are dropped
+     */
+    public BigDecimalFailureSampler(int reservoirSize, int maxRuleSets) {
+
+        if (reservoirSize < 1) {
+            throw new IllegalArgumentException("Reservoir size has to be positive, but was " + reservoirSize);
+        }
+
+        if (maxRuleSets < 1) {
+            throw new IllegalArgumentException("Max rule sets has to be positive, but was " + maxRuleSets);
+        }
+
+        this.reservoirSize = reservoirSize;
+        this.maxRuleSets = maxRuleSets;
+        this.finished = new ThreadReservoirs(null, maxRuleSets);
+    }
+
+    @Override
+    public void onFailure(BigDecimal bigDecimal, BigDecimalValidationRules rules, String failMessage) {
+
+        long time = System.nanoTime();
+        ThreadReservoirs reservoirs = current.get();
+
+        // only contended while getSamples() copies the reservoirs of this thread
+        synchronized (reservoirs) {
+            reservoirs.reservoir(rules, failMessage, reservoirSize).add(bigDecimal, time);
+        }
+    }
+
+
+    /**
+     * Merges the samples of all threads.
+     *
+     * @return  one sample per failure message and rule set
+     */
+    public List<Sample> getSamples() {
+
+        Map<BigDecimalValidationRules, Map<String, List<Reservoir>>> reservoirs = new IdentityHashMap<>();
+
+        synchronized (threads) {
+            mergeFinishedThreads();
+            copy(finished, reservoirs);
+
+            for (ThreadReservoirs thread : threads) {
+                synchronized (thread) {
+                    copy(thread, reservoirs);
+                }
+            }
+        }
+
+        List<Sample> samples = new ArrayList<>();
+
+        for (Map.Entry<BigDecimalValidationRules, Map<String, List<Reservoir>>> byRules : reservoirs.entrySet()) {
+            for (Map.Entry<String, List<Reservoir>> byMessage : byRules.getValue().entrySet()) {
+                Reservoir merged = merge(byMessage.getValue());
+                samples.add(new Sample(byRules.getKey(), byMessage.getKey(), merged.count, merged.first, merged.last,
+                        new ArrayList<>(Arrays.asList(merged.values).subList(0, merged.sampled()))));
+            }
+        }
+
+        return samples;
+    }
+
+
+    /**
+     * @return  count of rule sets with reservoirs over all threads, including the merged ones of finished threads
+     */
+    int retainedRuleSets() {
+
+        int count;
+
+        synchronized (threads) {
+            count = finished.reservoirs.size();
+
+            for (ThreadReservoirs thread : threads) {
+                synchronized (thread) {
+                    count += thread.reservoirs.size();
+                }
+            }
+        }
+
+        return count;
+    }
+
+
+    private ThreadReservoirs register() {
+
+        ThreadReservoirs reservoirs = new ThreadReservoirs(Thread.currentThread(), maxRuleSets);
+
+        synchronized (threads) {
+            // registering is rare, so the reservoirs of threads replaced by a pool are merged here as well
+            mergeFinishedThreads();
+            threads.add(reservoirs);
+        }
+
+        return reservoirs;
+    }
+
+
+    /**
+     * Merges the reservoirs of finished threads into the shared ones, needs the lock of {@link #threads}.
+     */
+    private void mergeFinishedThreads() {
+
+        for (Iterator<ThreadReservoirs> iterator = threads.iterator(); iterator.hasNext();) {
+            ThreadReservoirs thread = iterator.next();
+
+            if (thread.isAlive()) {
+                continue;
+            }
+
+            iterator.remove();
+
+            // the least recently failed rule sets first, so the most recent ones survive the eviction
+            for (Map.Entry<BigDecimalValidationRules, Map<String, Reservoir>> byRules : thread.reservoirs.entrySet()) {
+                for (Map.Entry<String, Reservoir> byMessage : byRules.getValue().entrySet()) {
+                    Map<String, Reservoir> merged = finished.byMessage(byRules.getKey());
+                    Reservoir reservoir = merged.get(byMessage.getKey());
+
+                    merged.put(byMessage.getKey(),
+                        reservoir == null ? byMessage.getValue()
+                                          : merge(Arrays.asList(reservoir, byMessage.getValue())));
+                }
+            }
+        }
+    }
+
+
+    private static void copy(ThreadReservoirs thread,
+        Map<BigDecimalValidationRules, Map<String, List<Reservoir>>> reservoirs) {
+
+        for (Map.Entry<BigDecimalValidationRules, Map<String, Reservoir>> byRules : thread.reservoirs.entrySet()) {
+            Map<String, List<Reservoir>> byMessage = reservoirs.get(byRules.getKey());
+
+            if (byMessage == null) {
+                byMessage = new HashMap<>();
+                reservoirs.put(byRules.getKey(), byMessage);
+            }
+
+            for (Map.Entry<String, Reservoir> reservoir : byRules.getValue().entrySet()) {
+                List<Reservoir> copies = byMessage.get(reservoir.getKey());
+
+                if (copies == null) {
+                    copies = new ArrayList<>();
+                    byMessage.put(reservoir.getKey(), copies);
+                }
+
+                copies.add(reservoir.getValue().copy());
+            }
+        }
+    }
+
+
+    private Reservoir merge(List<Reservoir> reservoirs) {
+
+        Random random = new Random();
+        Reservoir merged = new Reservoir(reservoirSize);
+
+        // weighted random sampling (A-Res): every value represents count / sampled values of its reservoir
+        PriorityQueue<WeightedValue> selected = new PriorityQueue<>(reservoirSize);
+
+        for (Reservoir reservoir : reservoirs) {
+            if (merged.count == 0 || reservoir.firstTime < merged.firstTime) {
+                merged.first = reservoir.first;
+                merged.firstTime = reservoir.firstTime;
+            }
+
+            if (merged.count == 0 || reservoir.lastTime > merged.lastTime) {
+                merged.last = reservoir.last;
+                merged.lastTime = reservoir.lastTime;
+            }
+
+            merged.count += reservoir.count;
+
+            int sampled = reservoir.sampled();
+            double weight = (double) reservoir.count / sampled;
+
+            for (int i = 0; i < sampled; i++) {
+                WeightedValue value = new WeightedValue(reservoir.values[i],
+                        Math.pow(random.nextDouble(), 1 / weight));
+
+                if (selected.size() < reservoirSize) {
+                    selected.add(value);
+                } else if (selected.peek().key < value.key) {
+                    selected.poll();
+                    selected.add(value);
+                }
+            }
+        }
+
+        // as many values as merged.sampled(), every reservoir holds all of its values or a full sample
+        int i = 0;
+
+        for (WeightedValue value : selected) {
+            merged.values[i++] = value.value;
+        }
+
+        return merged;
+    }
+
+    /**
+     * Merged sample of the failing values of one failure message and rule set.
+     */
+    public static final class Sample {
+
+        private final BigDecimalValidationRules rules;
+        private final String failMessage;
+        private final long count;
+        private final BigDecimal first;
+        private final BigDecimal last;
+        private final List<BigDecimal> values;
+
+        private Sample(BigDecimalValidationRules rules, String failMessage, long count, BigDecimal first,
+            BigDecimal last, List<BigDecimal> values) {
+
+            this.rules = rules;
+            this.failMessage = failMessage;
+            this.count = count;
+            this.first = first;
+            this.last = last;
+            this.values = Collections.unmodifiableList(values);
+        }
+
+        public BigDecimalValidationRules getRules() {
+
+            return rules;
+        }
+
+
+        public String getFailMessage() {
+
+            return failMessage;
+        }
+
+
+        /**
+         * @return  count of all failures, not only the sampled ones
+         */
+        public long getCount() {
+
+            return count;
+        }
+
+
+        public BigDecimal getFirst() {
+
+            return first;
+        }
+
+
+        public BigDecimal getLast() {
+
+            return last;
+        }
+
+
+        /**
+         * @return  random sample of the failing values, at most the reservoir size
+         */
+        public List<BigDecimal> getValues() {
+
+            return values;
+        }
+    }
+
+    private static final class ThreadReservoirs {
+
+        // weak, the reservoirs are referenced by the sampler after the thread has finished
+        private final WeakReference<Thread> owner;
+
+        // rules do not override equals, so the keys are compared by identity
+        private final Map<BigDecimalValidationRules, Map<String, Reservoir>> reservoirs;
+
+        private ThreadReservoirs(Thread owner, final int maxRuleSets) {
+
+            this.owner = new WeakReference<>(owner);
+            this.reservoirs = new LinkedHashMap<BigDecimalValidationRules, Map<String, Reservoir>>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(
+                    Map.Entry<BigDecimalValidationRules, Map<String, Reservoir>> eldest) {
+
+                    return size() > maxRuleSets;
+                }
+            };
+        }
+
+        private boolean isAlive() {
+
+            Thread thread = owner.get();
+
+            return thread != null && thread.isAlive();
+        }
+
+
+        private Map<String, Reservoir> byMessage(BigDecimalValidationRules rules) {
+
+            Map<String, Reservoir> byMessage = reservoirs.get(rules);
+
+            if (byMessage == null) {
+                byMessage = new HashMap<>();
+                reservoirs.put(rules, byMessage);
+            }
+
+            return byMessage;
+        }
+
+
+        private Reservoir reservoir(BigDecimalValidationRules rules, String failMessage, int reservoirSize) {
+
+            Map<String, Reservoir> byMessage = byMessage(rules);
+            Reservoir reservoir = byMessage.get(failMessage);
+
+            if (reservoir == null) {
+                reservoir = new Reservoir(reservoirSize);
+                byMessage.put(failMessage, reservoir);
+            }
+
+            return reservoir;
+        }
+    }
+
+    private static final class Reservoir {
+
+        private final BigDecimal[] values;
+
+        private long count;
+        private BigDecimal first;
+        private long firstTime;
+        private BigDecimal last;
+        private long lastTime;
+
+        private Reservoir(int size) {
+
+            this.values = new BigDecimal[size];
+        }
+
+        private void add(BigDecimal value, long time) {
+
+            if (count == 0) {
+                first = value;
+                firstTime = time;
+            }
+
+            last = value;
+            lastTime = time;
+            count++;
+
+            if (count <= values.length) {
+                values[(int) (count - 1)] = value;
+            } else {
+                long index = ThreadLocalRandom.current().nextLong(count);
+
+                if (index < values.length) {
+                    values[(int) index] = value;
+                }
+            }
+        }
+
+
+        private int sampled() {
+
+            return (int) Math.min(count, values.length);
+        }
+
+
+        private Reservoir copy() {
+
+            Reservoir copy = new Reservoir(sampled());
+            System.arraycopy(values, 0, copy.values, 0, copy.values.length);
+            copy.count = count;
+            copy.first = first;
+            copy.firstTime = firstTime;
+            copy.last = last;
+            copy.lastTime = lastTime;
+
+            return copy;
+        }
+    }
+
+    private static final class WeightedValue implements Comparable<WeightedValue> {
+
+        private final BigDecimal value;
+        private final double key;
+
+        private WeightedValue(BigDecimal value, double key) {
+
+            this.value = value;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(WeightedValue other) {
+
+            return Double.compare(key, other.key);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/**
+ * Resultobject of {@link net.contargo.validation.bigdecimal.BigDecimalValidator#repair(java.math.BigDecimal,
+ * net.contargo.validation.bigdecimal.BigDecimalValidationRules, java.math.RoundingMode) BigDecimalValidator.repair}.
+ *
+ * <p>Holds the compliant value and what was changed to get it. If failMessage is set the value could not be
+ * repaired.</p>
+ */
+public final class BigDecimalRepairResult {
+
+    private final BigDecimal value;
+    private final Set<Change> changes;
+    private final String failMessage;
+
+    BigDecimalRepairResult(BigDecimal value, Set<Change> changes, String failMessage) {
+
+        this.value = value;
+        this.changes = changes.isEmpty() ? Collections.<Change>emptySet()
+                                         : Collections.unmodifiableSet(EnumSet.copyOf(changes));
+        this.failMessage = failMessage;
+    }
+
+    /**
+     * @return  <code>true</code> if the value is compliant, changed or not
+     */
+    public boolean isValid() {
+
+        return failMessage == null;
+    }
+
+
+    /**
+     * @return  <code>true</code> if the value was changed to be compliant
+     */
+    public boolean isRepaired() {
+
+        return failMessage == null && !changes.isEmpty();
+    }
+
+
+    /**
+     * @return  the compliant value, the validated instance itself if it was valid, <code>null</code> if it could not
+     *          be repaired
+     */
+    public BigDecimal getValue() {
+
+        return value;
+    }
+
+
+    /**
+     * @return  the changes which were applied
+     */
+    public Set<Change> getChanges() {
+
+        return changes;
+    }
+
+
+    /**
+     * @return  message of the failure which could not be repaired, <code>null</code> if the value is valid
+     */
+    public String getFailMessage() {
+
+        return failMessage;
+    }
+
+    /**
+     * Change applied to repair a value.
+     */
+    public enum Change {
+
+        /**
+         * Fractional places or significant digits were rounded off.
+         */
+        ROUNDED,
+
+        /**
+         * The value was replaced by minValue or maxValue.
+         */
+        CLAMPED
+    }
+}
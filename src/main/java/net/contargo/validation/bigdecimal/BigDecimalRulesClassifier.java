@@ -0,0 +1,246 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * Classifies a BigDecimal against many {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules
+ * BigDecimalValidationRules} at once, e.g. to find the tariff bands which accept an amount.
+ *
+ * <p>The id of a rule set is its index in the list the classifier was built with. Every bound of the rules is kept
+ * in a sorted interval index with precomputed bitsets, digit counts up to {@value #LOOKUP_TABLE_SIZE} are answered
+ * by lookup tables. A value is therefore classified with a few binary searches and bitset intersections instead of
+ * validating it once per rule set.</p>
+ *
+ * <p>The result is the same as validating with a {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+ * BigDecimalValidator} with fractional checks. The classifier is immutable and thread-safe.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalRulesClassifier classifier = new BigDecimalRulesClassifier(tariffBandRules);
+
+ BitSet matchingBands = classifier.classify(new BigDecimal("124.2"));
+ * </pre>
+ */
+public final class BigDecimalRulesClassifier {
+
+    static final int LOOKUP_TABLE_SIZE = 64;
+
+    private final int size;
+    private final DigitIndex minDecimalPlaces;
+    private final DigitIndex maxDecimalPlaces;
+    private final DigitIndex maxFractionalPlaces;
+    private final DigitIndex maxPrecision;
+    private final boolean precisionChecked;
+    private final BoundIndex<BigDecimal> minValue;
+    private final BoundIndex<BigDecimal> maxValue;
+
+    /**
+     * Builds the classifier for the given rule sets.
+     *
+     * @param  rules  rule sets, the index of a rule set is its id
+     */
+    public BigDecimalRulesClassifier(List<BigDecimalValidationRules> rules) {
+
+        size = rules.size();
+
+        List<Long> minDecimals = new ArrayList<>(size);
+        List<Long> maxDecimals = new ArrayList<>(size);
+        List<Long> maxFractionals = new ArrayList<>(size);
+        List<Long> maxPrecisions = new ArrayList<>(size);
+        List<BigDecimal> minValues = new ArrayList<>(size);
+        List<BigDecimal> maxValues = new ArrayList<>(size);
+        boolean anyPrecision = false;
+
+        for (BigDecimalValidationRules rule : rules) {
+            minDecimals.add(rule.getMinDecimalPlaces());
+            maxDecimals.add(rule.getMaxDecimalPlaces());
+            maxFractionals.add(rule.getMaxFractionalPlaces());
+
+            // an implied precision accepts every value which passes the digit checks
+            maxPrecisions.add(rule.isPrecisionImplied() ? Long.MAX_VALUE : rule.getMaxPrecision());
+            anyPrecision |= !rule.isPrecisionImplied();
+
+            minValues.add(rule.getMinValue());
+            maxValues.add(rule.getMaxValue());
+        }
+
+        minDecimalPlaces = new DigitIndex(new BoundIndex<>(minDecimals, true));
+        maxDecimalPlaces = new DigitIndex(new BoundIndex<>(maxDecimals, false));
+        maxFractionalPlaces = new DigitIndex(new BoundIndex<>(maxFractionals, false));
+        maxPrecision = new DigitIndex(new BoundIndex<>(maxPrecisions, false));
+        precisionChecked = anyPrecision;
+        minValue = new BoundIndex<>(minValues, true);
+        maxValue = new BoundIndex<>(maxValues, false);
+    }
+
+    /**
+     * Returns the ids of all rule sets which accept the given BigDecimal.
+     *
+     * @param  bigDecimal  to classify
+     *
+     * @return  new bitset with the ids of the accepting rule sets, empty for <code>null</code>
+     */
+    public BitSet classify(BigDecimal bigDecimal) {
+
+        if (bigDecimal == null) {
+            return new BitSet(size);
+        }
+
+        long decimalPlaces = BigDecimalDigits.decimalPlaces(bigDecimal);
+        long fractionalPlaces = BigDecimalDigits.fractionalPlaces(bigDecimal);
+
+        BitSet result = (BitSet) minDecimalPlaces.accepting(decimalPlaces).clone();
+        result.and(maxDecimalPlaces.accepting(decimalPlaces));
+        result.and(maxFractionalPlaces.accepting(fractionalPlaces));
+
+        if (precisionChecked) {
+            result.and(maxPrecision.accepting(bigDecimal.precision()));
+        }
+
+        result.and(minValue.accepting(bigDecimal));
+        result.and(maxValue.accepting(bigDecimal));
+
+        return result;
+    }
+
+
+    /**
+     * @return  count of classified rule sets
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Sorted bounds of one attribute of all rule sets with the precomputed bitsets of the accepting rule sets.
+     */
+    private static final class BoundIndex<T extends Comparable<T>> {
+
+        private final List<T> sortedBounds;
+        private final boolean lowerBound;
+        private final BitSet[] accepting;
+
+        /**
+         * @param  bounds  bound per rule set id
+         * @param  lowerBound  <code>true</code> if values have to be greater than or equal to the bound,
+         *                     <code>false</code> if they have to be less than or equal to the bound
+         */
+        private BoundIndex(final List<T> bounds, boolean lowerBound) {
+
+            this.lowerBound = lowerBound;
+
+            Integer[] ids = new Integer[bounds.size()];
+
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = i;
+            }
+
+            Arrays.sort(ids, new Comparator<Integer>() {
+
+                    @Override
+                    public int compare(Integer left, Integer right) {
+
+                        return bounds.get(left).compareTo(bounds.get(right));
+                    }
+                });
+
+            List<T> sorted = new ArrayList<>(ids.length);
+
+            for (Integer id : ids) {
+                sorted.add(bounds.get(id));
+            }
+
+            sortedBounds = Collections.unmodifiableList(sorted);
+
+            // lower bounds: accepting[i] = the first i sorted rule sets, upper bounds: all from position i on
+            accepting = new BitSet[ids.length + 1];
+            accepting[0] = new BitSet(ids.length);
+
+            for (int i = 0; i < ids.length; i++) {
+                accepting[i + 1] = (BitSet) accepting[i].clone();
+                accepting[i + 1].set(lowerBound ? ids[i] : ids[ids.length - 1 - i]);
+            }
+
+            if (!lowerBound) {
+                Collections.reverse(Arrays.asList(accepting));
+            }
+        }
+
+        private BitSet accepting(T value) {
+
+            return accepting[lowerBound ? countLessOrEqual(value) : countLess(value)];
+        }
+
+
+        private int countLessOrEqual(T value) {
+
+            int low = 0;
+            int high = sortedBounds.size();
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (sortedBounds.get(middle).compareTo(value) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+
+        private int countLess(T value) {
+
+            int low = 0;
+            int high = sortedBounds.size();
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (sortedBounds.get(middle).compareTo(value) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+
+    /**
+     * Lookup table for small digit counts in front of a {@link BoundIndex}.
+     */
+    private static final class DigitIndex {
+
+        private final BoundIndex<Long> index;
+        private final BitSet[] table;
+
+        private DigitIndex(BoundIndex<Long> index) {
+
+            this.index = index;
+            this.table = new BitSet[LOOKUP_TABLE_SIZE];
+
+            for (int i = 0; i < LOOKUP_TABLE_SIZE; i++) {
+                table[i] = index.accepting((long) i);
+            }
+        }
+
+        private BitSet accepting(long digits) {
+
+            return digits < LOOKUP_TABLE_SIZE ? table[(int) digits] : index.accepting(digits);
+        }
+    }
+}
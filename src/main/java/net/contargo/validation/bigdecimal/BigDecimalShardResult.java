@@ -0,0 +1,281 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.math.BigDecimal;
+
+
+/**
+ * Result of validating a shard of rows, which can be merged with the results of the other shards.
+ *
+ * <p>A result holds the count of validated and invalid rows, the invalid rows per failure message in a
+ * {@link net.contargo.validation.bigdecimal.BigDecimalFailureIndex BigDecimalFailureIndex} and the minimum, the
+ * maximum and the exact sum of the valid values. Merging adds the counts and the sums and combines the failure
+ * bitmaps, so a coordinator can merge the results of many workers without touching the rows again.</p>
+ *
+ * <pre>
+ Example:
+
+ // worker
+ Map&lt;String, BigDecimalValidationRules&gt; rules = BigDecimalValidationRulesCodec.read(rulesInput);
+ BigDecimalShardResult result = new BigDecimalShardResult();
+ result.validate(validator, amounts, amounts.length, shardFirstRow, rules.get("freight"));
+ result.writeTo(resultOutput);
+
+ // coordinator
+ BigDecimalShardResult total = new BigDecimalShardResult();
+
+ for (InputStream resultInput : resultInputs) {
+     total.merge(BigDecimalShardResult.readFrom(resultInput));
+ }
+ * </pre>
+ *
+ * <p>A result is not thread-safe, use one per thread and merge them.</p>
+ */
+public final class BigDecimalShardResult {
+
+    private static final int MAGIC = 0x42445352;
+    private static final int VERSION = 1;
+
+    private final BigDecimalFailureIndex failures;
+
+    private long rowCount;
+    private long invalidCount;
+    private BigDecimal minValue;
+    private BigDecimal maxValue;
+    private BigDecimalSumAccumulator sum;
+
+    /**
+     * Empty result.
+     */
+    public BigDecimalShardResult() {
+
+        this(new BigDecimalFailureIndex());
+    }
+
+
+    private BigDecimalShardResult(BigDecimalFailureIndex failures) {
+
+        this.failures = failures;
+    }
+
+    /**
+     * Validates a batch of values of the shard and adds them to the result.
+     *
+     * @param  validator  to validate with
+     * @param  values  to validate
+     * @param  count  of values
+     * @param  firstRow  row of the first value, the rows of all shards have to be distinct
+     * @param  rules  to validate with
+     *
+     * @return  count of invalid values of the batch
+     */
+    public int validate(BigDecimalValidator validator, BigDecimal[] values, int count, long firstRow,
+        BigDecimalValidationRules rules) {
+
+        int invalid = 0;
+
+        for (int i = 0; i < count; i++) {
+            String failMessage = validator.validate(values[i], rules).getFailMessage();
+
+            if (failMessage == null) {
+                addSum(values[i], rules.getMaxFractionalPlaces());
+                addBound(values[i]);
+            } else {
+                failures.add(firstRow + i, failMessage);
+                invalid++;
+            }
+        }
+
+        rowCount += count;
+        invalidCount += invalid;
+
+        return invalid;
+    }
+
+
+    /**
+     * Adds the result of another shard.
+     *
+     * @param  other  result to add
+     */
+    public void merge(BigDecimalShardResult other) {
+
+        rowCount += other.rowCount;
+        invalidCount += other.invalidCount;
+        failures.merge(other.failures);
+
+        if (other.sum != null) {
+            BigDecimal otherSum = other.sum.getSum();
+            addSum(otherSum, otherSum.scale());
+        }
+
+        if (other.minValue != null) {
+            addBound(other.minValue);
+            addBound(other.maxValue);
+        }
+    }
+
+
+    public long getRowCount() {
+
+        return rowCount;
+    }
+
+
+    public long getInvalidCount() {
+
+        return invalidCount;
+    }
+
+
+    /**
+     * @param  failMessage  of the failure
+     *
+     * @return  count of rows which failed with the given message
+     */
+    public long getFailureCount(String failMessage) {
+
+        return failures.get(failMessage).cardinality();
+    }
+
+
+    /**
+     * @return  the invalid rows per failure message, do not modify it
+     */
+    public BigDecimalFailureIndex getFailures() {
+
+        return failures;
+    }
+
+
+    /**
+     * @return  the least valid value, <code>null</code> if there is none
+     */
+    public BigDecimal getMinValue() {
+
+        return minValue;
+    }
+
+
+    /**
+     * @return  the greatest valid value, <code>null</code> if there is none
+     */
+    public BigDecimal getMaxValue() {
+
+        return maxValue;
+    }
+
+
+    /**
+     * @return  the exact sum of the valid values
+     */
+    public BigDecimal getSum() {
+
+        return sum == null ? BigDecimal.ZERO : sum.getSum();
+    }
+
+
+    /**
+     * Writes the result in a compact binary format, the failure bitmaps are optimized before.
+     *
+     * @param  outputStream  to write to, it is not closed
+     *
+     * @throws  IOException  if the result could not be written
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+
+        failures.optimize();
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeLong(rowCount);
+        output.writeLong(invalidCount);
+        output.writeBoolean(minValue != null);
+
+        if (minValue != null) {
+            BigDecimalValidationRulesCodec.writeDecimal(minValue, output);
+            BigDecimalValidationRulesCodec.writeDecimal(maxValue, output);
+        }
+
+        BigDecimalValidationRulesCodec.writeDecimal(getSum(), output);
+        failures.write(output);
+        output.flush();
+    }
+
+
+    /**
+     * Reads a result written by {@link #writeTo(java.io.OutputStream)}.
+     *
+     * @param  inputStream  to read from, it is not closed and not read beyond the result, buffer it for speed
+     *
+     * @return  the result
+     *
+     * @throws  IOException  if the result could not be read
+     */
+    public static BigDecimalShardResult readFrom(InputStream inputStream) throws IOException {
+
+        // without own buffer, which would read ahead into the data following the result
+        DataInputStream input = new DataInputStream(inputStream);
+
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Unknown shard result format");
+        }
+
+        long rowCount = input.readLong();
+        long invalidCount = input.readLong();
+        BigDecimal minValue = null;
+        BigDecimal maxValue = null;
+
+        if (input.readBoolean()) {
+            minValue = BigDecimalValidationRulesCodec.readDecimal(input);
+            maxValue = BigDecimalValidationRulesCodec.readDecimal(input);
+        }
+
+        BigDecimal sum = BigDecimalValidationRulesCodec.readDecimal(input);
+
+        BigDecimalShardResult result = new BigDecimalShardResult(BigDecimalFailureIndex.read(input));
+        result.rowCount = rowCount;
+        result.invalidCount = invalidCount;
+        result.minValue = minValue;
+        result.maxValue = maxValue;
+
+        // an empty sum would fix the scale of the accumulator at zero
+        if (minValue != null) {
+            result.addSum(sum, sum.scale());
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Adds to the sum, which keeps the given fractional places without allocating a BigDecimal per value.
+     */
+    private void addSum(BigDecimal value, long scale) {
+
+        if (sum == null) {
+            sum = new BigDecimalSumAccumulator((int) Math.max(0, Math.min(scale, BigDecimalSumAccumulator.MAX_SCALE)));
+        }
+
+        sum.add(value);
+    }
+
+
+    private void addBound(BigDecimal value) {
+
+        if (minValue == null || value.compareTo(minValue) < 0) {
+            minValue = value;
+        }
+
+        if (maxValue == null || value.compareTo(maxValue) > 0) {
+            maxValue = value;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+
+/**
+ * Exact sum of BigDecimals.
+ *
+ * <p>The sum is kept as unscaled <code>long</code> with a fixed scale, so adding a value does not create a new sum.
+ * The unscaled value of an added value is read without a BigInteger, values with fractional places need a single
+ * small BigDecimal for it. Values with more than 18 digits or more fractional places than the scale of the
+ * accumulator, or sums which overflow a <code>long</code>, promote the accumulator to a BigDecimal for all following
+ * values. The result is exact in both cases.</p>
+ *
+ * <p>An accumulator is not thread-safe, use one per sum.</p>
+ */
+public final class BigDecimalSumAccumulator {
+
+    /**
+     * Greatest scale of the <code>long</code> accumulator.
+     */
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int scale;
+
+    private long unscaledSum;
+    private BigDecimal promotedSum;
+    private long count;
+
+    /**
+     * Accumulator which sums values with up to the given fractional places without promotion.
+     *
+     * @param  scale  count of fractional places, between 0 and {@value #MAX_SCALE}
+     */
+    public BigDecimalSumAccumulator(int scale) {
+
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale has to be between 0 and " + MAX_SCALE + ", but was " + scale);
+        }
+
+        this.scale = scale;
+    }
+
+    /**
+     * Adds a value to the sum.
+     *
+     * @param  value  to add, must not be <code>null</code>
+     */
+    public void add(BigDecimal value) {
+
+        count++;
+
+        if (promotedSum == null && addExact(value)) {
+            return;
+        }
+
+        promotedSum = getSum().add(value);
+    }
+
+
+    /**
+     * @return  the exact sum of all added values, zero with the scale of the accumulator if nothing was added
+     */
+    public BigDecimal getSum() {
+
+        if (promotedSum != null) {
+            return promotedSum;
+        }
+
+        return BigDecimal.valueOf(unscaledSum, scale);
+    }
+
+
+    /**
+     * @return  count of added values
+     */
+    public long getCount() {
+
+        return count;
+    }
+
+
+    /**
+     * @return  <code>true</code> if the sum is no longer kept as <code>long</code>
+     */
+    public boolean isPromoted() {
+
+        return promotedSum != null;
+    }
+
+
+    private boolean addExact(BigDecimal value) {
+
+        int scaleDifference = scale - value.scale();
+
+        // at most 18 digits fit a long, the precision is cached and computed without allocation for most values
+        if (scaleDifference < 0 || scaleDifference > MAX_SCALE || value.precision() > MAX_SCALE) {
+            return false;
+        }
+
+        // the unscaled value as scale 0 BigDecimal, unscaledValue() would allocate a BigInteger for every value
+        long unscaled = value.scale() == 0 ? value.longValue() : value.scaleByPowerOfTen(value.scale()).longValue();
+        long factor = POWERS_OF_TEN[scaleDifference];
+
+        if (unscaled > Long.MAX_VALUE / factor || unscaled < Long.MIN_VALUE / factor) {
+            return false;
+        }
+
+        long summand = unscaled * factor;
+        long sum = unscaledSum + summand;
+
+        // overflow if both operands have a different sign than the result
+        if (((unscaledSum ^ sum) & (summand ^ sum)) < 0) {
+            return false;
+        }
+
+        unscaledSum = sum;
+
+        return true;
+    }
+}
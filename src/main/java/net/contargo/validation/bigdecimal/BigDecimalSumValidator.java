@@ -0,0 +1,121 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+
+/**
+ * Validates that the sum of streamed lines equals a total, e.g. the line amounts and the header total of an invoice.
+ *
+ * <p>Every line is validated by the line rules and added to an exact
+ * {@link net.contargo.validation.bigdecimal.BigDecimalSumAccumulator BigDecimalSumAccumulator} in the same pass, so
+ * the lines do not have to be kept or iterated twice. The sum and the total are compared after rounding both to the
+ * given fractional places ({@link java.math.RoundingMode#HALF_UP HALF_UP}).</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalSumValidator invoice = new BigDecimalSumValidator(new BigDecimalValidator(), lineRules, 2);
+
+ for (BigDecimal amount : lines) {
+     BigDecimalValidationResult lineResult = invoice.validateLine(amount);
+     ...
+ }
+
+ BigDecimalValidationResult totalResult = invoice.validateTotal(headerTotal);
+ * </pre>
+ *
+ * <p>A sum validator is not thread-safe, use one per sum.</p>
+ */
+public class BigDecimalSumValidator {
+
+    private static final String SUM_NOT_EQUAL = "{net.contargo.validation.bigdecimal.sumnotequal}";
+
+    private final BigDecimalValidator bigDecimalValidator;
+    private final BigDecimalValidationRules lineRules;
+    private final int fractionalPlaces;
+    private final BigDecimalSumAccumulator accumulator;
+
+    /**
+     * @param  bigDecimalValidator  to validate the lines with
+     * @param  lineRules  rules of every line
+     * @param  fractionalPlaces  count of fractional places the sum and the total have to be equal in
+     */
+    public BigDecimalSumValidator(BigDecimalValidator bigDecimalValidator, BigDecimalValidationRules lineRules,
+        int fractionalPlaces) {
+
+        this.bigDecimalValidator = bigDecimalValidator;
+        this.lineRules = lineRules;
+        this.fractionalPlaces = fractionalPlaces;
+
+        long accumulatorScale = Math.max(lineRules.getMaxFractionalPlaces(), fractionalPlaces);
+        this.accumulator = new BigDecimalSumAccumulator((int) Math.max(0,
+                    Math.min(accumulatorScale, BigDecimalSumAccumulator.MAX_SCALE)));
+    }
+
+    /**
+     * Validates a line by the line rules and adds it to the sum. Invalid lines are added as well, <code>null</code>
+     * lines are not.
+     *
+     * @param  line  to validate
+     *
+     * @return  {@link net.contargo.validation.bigdecimal.BigDecimalValidationResult BigDecimalValidationResult} of the
+     *          line
+     */
+    public BigDecimalValidationResult validateLine(BigDecimal line) {
+
+        BigDecimalValidationResult result = bigDecimalValidator.validate(line, lineRules);
+
+        if (line != null) {
+            accumulator.add(line);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Validates that the sum of all lines equals the given total.
+     *
+     * @param  total  expected sum of the lines
+     *
+     * @return  {@link net.contargo.validation.bigdecimal.BigDecimalValidationResult BigDecimalValidationResult} object
+     *          with failure message
+     */
+    public BigDecimalValidationResult validateTotal(BigDecimal total) {
+
+        BigDecimalValidationResult result = new BigDecimalValidationResult();
+
+        if (total == null) {
+            result.setFailMessage(BigDecimalValidator.NULL);
+        } else if (round(accumulator.getSum()).compareTo(round(total)) != 0) {
+            result.setFailMessage(SUM_NOT_EQUAL);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * @return  exact sum of all lines
+     */
+    public BigDecimal getSum() {
+
+        return accumulator.getSum();
+    }
+
+
+    /**
+     * @return  count of summed lines
+     */
+    public long getCount() {
+
+        return accumulator.getCount();
+    }
+
+
+    private BigDecimal round(BigDecimal value) {
+
+        return value.setScale(fractionalPlaces, RoundingMode.HALF_UP);
+    }
+}
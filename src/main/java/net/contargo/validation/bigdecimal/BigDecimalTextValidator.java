@@ -0,0 +1,355 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static net.contargo.validation.bigdecimal.BigDecimalValidator.DECIMAL_OUT_OF_RANGE;
+import static net.contargo.validation.bigdecimal.BigDecimalValidator.FRACTIONAL_OUT_OF_RANGE;
+import static net.contargo.validation.bigdecimal.BigDecimalValidator.PRECISION_OUT_OF_RANGE;
+import static net.contargo.validation.bigdecimal.BigDecimalValidator.UNDECIDED;
+
+
+/**
+ * Validates decimals in their ASCII text form, e.g. the fields of a CSV file, without creating a BigDecimal for most
+ * of them.
+ *
+ * <p>The digits of a field are counted eight bytes at a time: a single long holds eight characters and a few
+ * arithmetic operations mark all non-digit and all zero characters in it. The counts are checked against the digit
+ * limits of the rules, the bounds are compared by the decimal exponent of the field. Only fields near a bound or
+ * with an exponent (e.g.: <code>1.5E3</code>) are decoded to a BigDecimal and validated by the
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator}.</p>
+ *
+ * <p>A field has the form <code>[+-]digits[.digits]</code>, with at least one digit, like it is accepted by
+ * {@link java.math.BigDecimal#BigDecimal(String)}. Other fields, like empty ones or ones with spaces, fail with
+ * <code>{net.contargo.validation.bigdecimal.notanumber}</code>.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalTextValidator validator = new BigDecimalTextValidator(new BigDecimalValidator());
+ String[] failMessages = new String[fieldCount];
+
+ int invalid = validator.validate(line, fieldOffsets, fieldLengths, fieldCount, rules, failMessages);
+ * </pre>
+ *
+ * <p>A text validator is immutable and thread-safe.</p>
+ */
+public final class BigDecimalTextValidator {
+
+    static final String NOT_A_NUMBER = "{net.contargo.validation.bigdecimal.notanumber}";
+
+    // per byte constants of the eight characters in a long
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ZERO_CHARS = 0x3030303030303030L;
+    private static final long ABOVE_NINE = 0x4646464646464646L;
+
+    private final BigDecimalValidator validator;
+    private final boolean wordwise;
+
+    /**
+     * @param  validator  to validate the decoded fields with, its fractional checks and failure listener apply to
+     *                    all fields
+     */
+    public BigDecimalTextValidator(BigDecimalValidator validator) {
+
+        this(validator, true);
+    }
+
+
+    /**
+     * @param  wordwise  <code>false</code> to count the digits character by character, to compare both ways
+     */
+    BigDecimalTextValidator(BigDecimalValidator validator, boolean wordwise) {
+
+        this.validator = validator;
+        this.wordwise = wordwise;
+    }
+
+    /**
+     * Validates a single field.
+     *
+     * @param  text  containing the field
+     * @param  offset  of the field
+     * @param  length  of the field
+     * @param  rules  to validate with
+     *
+     * @return  {@link net.contargo.validation.bigdecimal.BigDecimalValidationResult BigDecimalValidationResult} object
+     *          with failure message
+     */
+    public BigDecimalValidationResult validate(byte[] text, int offset, int length, BigDecimalValidationRules rules) {
+
+        BigDecimalValidationResult result = new BigDecimalValidationResult();
+        String failMessage = validate(words(text), text, offset, length, rules);
+
+        if (failMessage != null) {
+            result.setFailMessage(failMessage);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Validates many fields of the same text with the same rules.
+     *
+     * @param  text  containing the fields
+     * @param  offsets  of the fields
+     * @param  lengths  of the fields
+     * @param  count  of fields
+     * @param  rules  to validate with
+     * @param  failMessages  receives the failure message per field, <code>null</code> for valid fields
+     *
+     * @return  count of invalid fields
+     */
+    public int validate(byte[] text, int[] offsets, int[] lengths, int count, BigDecimalValidationRules rules,
+        String[] failMessages) {
+
+        ByteBuffer words = words(text);
+        int invalid = 0;
+
+        for (int i = 0; i < count; i++) {
+            failMessages[i] = validate(words, text, offsets[i], lengths[i], rules);
+
+            if (failMessages[i] != null) {
+                invalid++;
+            }
+        }
+
+        return invalid;
+    }
+
+
+    private String validate(ByteBuffer words, byte[] text, int offset, int length, BigDecimalValidationRules rules) {
+
+        String failMessage = validator.isCheckFractions() ? validateDigits(words, text, offset, length, rules)
+                                                         : UNDECIDED;
+
+        if (failMessage == UNDECIDED) {
+            BigDecimal bigDecimal = decode(text, offset, length);
+
+            if (bigDecimal == null) {
+                validator.notifyFailure(null, rules, NOT_A_NUMBER);
+
+                return NOT_A_NUMBER;
+            }
+
+            return validator.validate(bigDecimal, rules).getFailMessage();
+        }
+
+        if (failMessage != null && validator.hasFailureListener()) {
+            validator.notifyFailure(decode(text, offset, length), rules, failMessage);
+        }
+
+        return failMessage;
+    }
+
+
+    /**
+     * Validates a field by its digit counts.
+     *
+     * @return  the failure message, <code>null</code> if the field is valid or
+     *          {@link net.contargo.validation.bigdecimal.BigDecimalValidator#UNDECIDED} if it has to be decoded
+     */
+    private String validateDigits(ByteBuffer words, byte[] text, int offset, int length,
+        BigDecimalValidationRules rules) {
+
+        int end = offset + length;
+        int position = offset;
+        boolean negative = false;
+
+        if (position < end && (text[position] == '-' || text[position] == '+')) {
+            negative = text[position] == '-';
+            position++;
+        }
+
+        int integerRun = digitRun(words, text, position, end);
+        int integerZeros = zeroRun(words, text, position, position + integerRun);
+        position += integerRun;
+
+        int fractionRun = 0;
+        int fractionZeros = 0;
+
+        if (position < end && text[position] == '.') {
+            position++;
+            fractionRun = digitRun(words, text, position, end);
+            fractionZeros = zeroRun(words, text, position, position + fractionRun);
+            position += fractionRun;
+        }
+
+        if (integerRun + fractionRun == 0) {
+            return NOT_A_NUMBER;
+        }
+
+        if (position < end) {
+            return text[position] == 'e' || text[position] == 'E' ? UNDECIDED : NOT_A_NUMBER;
+        }
+
+        long integerDigits = integerRun - integerZeros;
+        long fractionalPlaces = fractionRun;
+
+        if (integerDigits == 0 && fractionZeros == fractionRun) {
+            return BigDecimalValidator.validateZero(fractionalPlaces, rules);
+        }
+
+        long decimalPlaces = Math.max(integerDigits, 1);
+
+        if (decimalPlaces < rules.getMinDecimalPlaces() || decimalPlaces > rules.getMaxDecimalPlaces()) {
+            return DECIMAL_OUT_OF_RANGE;
+        }
+
+        if (fractionalPlaces > rules.getMaxFractionalPlaces()) {
+            return FRACTIONAL_OUT_OF_RANGE;
+        }
+
+        // leading zeros of the fraction are significant only if there are integer digits
+        long precision = integerDigits > 0 ? integerDigits + fractionalPlaces : fractionalPlaces - fractionZeros;
+
+        if (precision > rules.getMaxPrecision()) {
+            return PRECISION_OUT_OF_RANGE;
+        }
+
+        // 10^(integerDigits - 1) <= |value| < 10^magnitudeExponent
+        long magnitudeExponent = integerDigits > 0 ? integerDigits : -fractionZeros;
+
+        if (integerDigits > 0) {
+            String failMessage = validateLowerMagnitude(negative, integerDigits - 1, rules);
+
+            if (failMessage != null) {
+                return failMessage;
+            }
+        }
+
+        if (negative) {
+            return BigDecimalValidator.validateNegative(magnitudeExponent, rules);
+        }
+
+        return BigDecimalValidator.validatePositive(magnitudeExponent, rules);
+    }
+
+
+    /**
+     * Checks the bounds by the lower bound of the magnitude, <code>|value| &gt;= 10^lowerExponent</code>, so values
+     * with many more integer digits than a bound are not decoded.
+     *
+     * @return  the failure message or <code>null</code> if the bounds can not be decided this way
+     */
+    private static String validateLowerMagnitude(boolean negative, long lowerExponent,
+        BigDecimalValidationRules rules) {
+
+        if (!negative && rules.getMaxValue().signum() > 0 && lowerExponent > rules.getMaxValueExponent()) {
+            return BigDecimalValidator.TOO_BIG;
+        }
+
+        // a negative value is only too small if it can not be too big, which is checked first
+        if (negative && rules.getMaxValue().signum() >= 0 && rules.getMinValue().signum() < 0
+                && lowerExponent > rules.getMinValueExponent()) {
+            return BigDecimalValidator.TOO_SMALL;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Counts the digits from the given position on.
+     */
+    private int digitRun(ByteBuffer words, byte[] text, int from, int to) {
+
+        int position = from;
+
+        if (wordwise) {
+            while (position < to && position + 8 <= text.length) {
+                long nonDigits = nonDigits(words.getLong(position)) | beyond(to - position);
+
+                if (nonDigits != 0) {
+                    return position - from + (Long.numberOfTrailingZeros(nonDigits) >>> 3);
+                }
+
+                position += 8;
+            }
+        }
+
+        while (position < to && text[position] >= '0' && text[position] <= '9') {
+            position++;
+        }
+
+        return position - from;
+    }
+
+
+    /**
+     * Counts the <code>'0'</code> characters from the given position on.
+     */
+    private int zeroRun(ByteBuffer words, byte[] text, int from, int to) {
+
+        int position = from;
+
+        if (wordwise) {
+            while (position < to && position + 8 <= text.length) {
+                long nonZeros = (~zeros(words.getLong(position)) & HIGH_BITS) | beyond(to - position);
+
+                if (nonZeros != 0) {
+                    return position - from + (Long.numberOfTrailingZeros(nonZeros) >>> 3);
+                }
+
+                position += 8;
+            }
+        }
+
+        while (position < to && text[position] == '0') {
+            position++;
+        }
+
+        return position - from;
+    }
+
+
+    /**
+     * Marks the characters which are no ASCII digit with their high bit.
+     */
+    static long nonDigits(long word) {
+
+        // high bit of (c & 0x7F) + 0x46 is set for c > '9', the one of (c | 0x80) - '0' is cleared for c < '0'
+        return (((word & LOW_BITS) + ABOVE_NINE) | ~((word | HIGH_BITS) - ZERO_CHARS) | word) & HIGH_BITS;
+    }
+
+
+    /**
+     * Marks the <code>'0'</code> characters with their high bit.
+     */
+    static long zeros(long word) {
+
+        long difference = word ^ ZERO_CHARS;
+
+        return ~(((difference & LOW_BITS) + LOW_BITS) | difference | LOW_BITS);
+    }
+
+
+    /**
+     * Marks the characters of a word which are beyond the end of the field.
+     */
+    private static long beyond(int remaining) {
+
+        return remaining >= 8 ? 0 : HIGH_BITS << (remaining << 3);
+    }
+
+
+    private static ByteBuffer words(byte[] text) {
+
+        return ByteBuffer.wrap(text).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+
+    private static BigDecimal decode(byte[] text, int offset, int length) {
+
+        try {
+            return new BigDecimal(new String(text, offset, length, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
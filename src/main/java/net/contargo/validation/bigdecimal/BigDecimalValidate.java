@@ -56,6 +56,12 @@ public @interface BigDecimalValidate {
     long maxFractionalPlaces() default 0;
 
 
+    /**
+     * Max count of significant digits, e.g. the precision of a <code>NUMERIC(p,s)</code> column.
+     */
+    long maxPrecision() default Long.MAX_VALUE;
+
+
     double maxValue() default Double.MAX_VALUE;
 
 
@@ -0,0 +1,150 @@
+package net.contargo.validation.bigdecimal;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Failure messages of the {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator} resolved
+ * for one set of {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules BigDecimalValidationRules}.
+ *
+ * <p>Meant for callers of the {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator}
+ * outside of Bean Validation, e.g. batch jobs which report failures. Bean Validation providers interpolate the
+ * templates themselves, with the locale of the request.</p>
+ *
+ * <p>The first lookup for a locale resolves all messages of this library from the <code>ValidationMessages</code>
+ * bundle of the given class loader, so an application can override them, and replaces the rule parameters (e.g.
+ * <code>{maxValue}</code>) with the values of the rules. Following lookups are a map access.</p>
+ *
+ * <p>Templates which are not part of this library's bundle are returned unchanged. Instances are thread-safe.</p>
+ */
+public final class BigDecimalValidationMessages {
+
+    private static final String BUNDLE = "ValidationMessages";
+    private static final String KEY_PREFIX = "net.contargo.validation.bigdecimal.";
+
+    private final Map<String, String> parameters;
+    private final ClassLoader classLoader;
+    private final ConcurrentMap<Locale, Map<String, String>> messagesByLocale = new ConcurrentHashMap<>();
+
+    /**
+     * Messages from the bundle of the context class loader of the current thread, or of the class loader of this
+     * library if there is none.
+     *
+     * @param  rules  whose values replace the message parameters
+     */
+    public BigDecimalValidationMessages(BigDecimalValidationRules rules) {
+
+        this(rules, defaultClassLoader());
+    }
+
+
+    /**
+     * @param  rules  whose values replace the message parameters
+     * @param  classLoader  to load the <code>ValidationMessages</code> bundle with
+     */
+    public BigDecimalValidationMessages(BigDecimalValidationRules rules, ClassLoader classLoader) {
+
+        Map<String, String> values = new HashMap<>();
+        values.put("minDecimalPlaces", String.valueOf(rules.getMinDecimalPlaces()));
+        values.put("maxDecimalPlaces", String.valueOf(rules.getMaxDecimalPlaces()));
+        values.put("maxFractionalPlaces", String.valueOf(rules.getMaxFractionalPlaces()));
+        values.put("maxPrecision", String.valueOf(rules.getMaxPrecision()));
+        values.put("minValue", rules.getMinValue().toString());
+        values.put("maxValue", rules.getMaxValue().toString());
+
+        this.parameters = Collections.unmodifiableMap(values);
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the resolved message of a failure message template.
+     *
+     * @param  template  failure message template, e.g. <code>{net.contargo.validation.bigdecimal.toobig}</code>
+     * @param  locale  of the message
+     *
+     * @return  the message or the template if it is not part of the bundle
+     */
+    public String resolve(String template, Locale locale) {
+
+        Map<String, String> messages = messagesByLocale.get(locale);
+
+        if (messages == null) {
+            messages = resolveAll(locale);
+
+            Map<String, String> concurrent = messagesByLocale.putIfAbsent(locale, messages);
+
+            if (concurrent != null) {
+                messages = concurrent;
+            }
+        }
+
+        String message = messages.get(template);
+
+        return message == null ? template : message;
+    }
+
+
+    private Map<String, String> resolveAll(Locale locale) {
+
+        ResourceBundle bundle;
+
+        try {
+            bundle = ResourceBundle.getBundle(BUNDLE, locale, classLoader);
+        } catch (MissingResourceException e) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> messages = new HashMap<>();
+        Enumeration<String> keys = bundle.getKeys();
+
+        while (keys.hasMoreElements()) {
+            String key = keys.nextElement();
+
+            if (key.startsWith(KEY_PREFIX)) {
+                messages.put("{" + key + "}", replaceParameters(bundle.getString(key)));
+            }
+        }
+
+        return Collections.unmodifiableMap(messages);
+    }
+
+
+    private String replaceParameters(String message) {
+
+        StringBuilder resolved = new StringBuilder(message.length());
+        int position = 0;
+
+        while (position < message.length()) {
+            int start = message.indexOf('{', position);
+            int end = start < 0 ? -1 : message.indexOf('}', start);
+
+            if (end < 0) {
+                break;
+            }
+
+            String value = parameters.get(message.substring(start + 1, end));
+
+            resolved.append(message, position, start);
+            resolved.append(value == null ? message.substring(start, end + 1) : value);
+            position = end + 1;
+        }
+
+        return resolved.append(message, position, message.length()).toString();
+    }
+
+
+    private static ClassLoader defaultClassLoader() {
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return contextClassLoader == null ? BigDecimalValidationMessages.class.getClassLoader() : contextClassLoader;
+    }
+}
@@ -5,6 +5,8 @@ package net.contargo.validation.bigdecimal;
  *
  * <p>If failMessage is set a error has occured.</p>
  *
+ * <p>A result is created per validation and is not thread-safe.</p>
+ *
  * @author  Tobias Schneider - schneider@synyx.de
  */
 public class BigDecimalValidationResult {
@@ -26,6 +26,12 @@ import java.math.BigDecimal;
  * <li>Default: 5</li>
  * </ul>
  * </li>
+ * <li><code>maxPrecision</code> max count of significant digits, decimal and fractional places together
+ *
+ * <ul>
+ * <li>Default: unlimited</li>
+ * </ul>
+ * </li>
  * <li><code>minValue</code> max count of fractional places*
  *
  * <ul>
@@ -40,23 +46,54 @@ import java.math.BigDecimal;
  * </li>
  * </ul>
  *
+ * <p>Rules are immutable and thread-safe, build them once and share them. The {@link Builder} is not
+ * thread-safe.</p>
+ *
  * @author  Tobias Schneider - schneider@synyx.de
  */
 public final class BigDecimalValidationRules {
 
+    private static final int APPROXIMATION_MARGIN_ULPS = 4;
+
     private final long minDecimalPlaces;
     private final long maxDecimalPlaces;
     private final long maxFractionalPlaces;
+    private final long maxPrecision;
     private final BigDecimal minValue;
     private final BigDecimal maxValue;
 
+    // decimal exponents of the bounds, to check values which are not decoded to a BigDecimal
+    private final long minValueExponent;
+    private final long maxValueExponent;
+
+    // true if every value within the decimal and fractional places is within the precision, e.g. for NUMERIC(p,s)
+    private final boolean precisionImplied;
+
+    // double intervals around the bounds, values outside are clearly less or greater than the bound
+    private final double minValueLower;
+    private final double minValueUpper;
+    private final double maxValueLower;
+    private final double maxValueUpper;
+
     public BigDecimalValidationRules(Builder builder) {
 
         minDecimalPlaces = builder.minDecimalPlaces;
         maxDecimalPlaces = builder.maxDecimalPlaces;
         maxFractionalPlaces = builder.maxFractionalPlaces;
+        maxPrecision = builder.maxPrecision;
         minValue = builder.minValue;
         maxValue = builder.maxValue;
+
+        precisionImplied = maxPrecision == Long.MAX_VALUE || maxDecimalPlaces < 0 || maxFractionalPlaces < 0
+            || (maxDecimalPlaces <= maxPrecision && maxFractionalPlaces <= maxPrecision - maxDecimalPlaces);
+
+        minValueExponent = BigDecimalDigits.magnitudeExponent(minValue);
+        maxValueExponent = BigDecimalDigits.magnitudeExponent(maxValue);
+
+        minValueLower = lower(minValue.doubleValue());
+        minValueUpper = upper(minValue.doubleValue());
+        maxValueLower = lower(maxValue.doubleValue());
+        maxValueUpper = upper(maxValue.doubleValue());
     }
 
     public long getMinDecimalPlaces() {
@@ -77,6 +114,15 @@ public final class BigDecimalValidationRules {
     }
 
 
+    /**
+     * @return  max count of significant digits, {@link Long#MAX_VALUE} if unlimited
+     */
+    public long getMaxPrecision() {
+
+        return maxPrecision;
+    }
+
+
     public BigDecimal getMinValue() {
 
         return minValue;
@@ -88,6 +134,96 @@ public final class BigDecimalValidationRules {
         return maxValue;
     }
 
+
+    /**
+     * @return  <code>true</code> if maxDecimalPlaces and maxFractionalPlaces together do not exceed maxPrecision, so
+     *          values which pass these checks need no precision check
+     */
+    boolean isPrecisionImplied() {
+
+        return precisionImplied;
+    }
+
+
+    /**
+     * @return  every value whose double approximation is less than this is less than minValue
+     */
+    double getMinValueLower() {
+
+        return minValueLower;
+    }
+
+
+    /**
+     * @return  every value whose double approximation is greater than this is greater than minValue
+     */
+    double getMinValueUpper() {
+
+        return minValueUpper;
+    }
+
+
+    /**
+     * @return  every value whose double approximation is less than this is less than maxValue
+     */
+    double getMaxValueLower() {
+
+        return maxValueLower;
+    }
+
+
+    /**
+     * @return  every value whose double approximation is greater than this is greater than maxValue
+     */
+    double getMaxValueUpper() {
+
+        return maxValueUpper;
+    }
+
+
+    /**
+     * @return  <code>floor(log10(|minValue|))</code>, zero if minValue is zero
+     */
+    long getMinValueExponent() {
+
+        return minValueExponent;
+    }
+
+
+    /**
+     * @return  <code>floor(log10(|maxValue|))</code>, zero if maxValue is zero
+     */
+    long getMaxValueExponent() {
+
+        return maxValueExponent;
+    }
+
+    /**
+     * Moves a bound some ulps down, more than the conversion error of the bound and of a value to double together.
+     */
+    private static double lower(double bound) {
+
+        double lower = bound;
+
+        for (int i = 0; i < APPROXIMATION_MARGIN_ULPS; i++) {
+            lower = Math.nextAfter(lower, Double.NEGATIVE_INFINITY);
+        }
+
+        return lower;
+    }
+
+
+    private static double upper(double bound) {
+
+        double upper = bound;
+
+        for (int i = 0; i < APPROXIMATION_MARGIN_ULPS; i++) {
+            upper = Math.nextUp(upper);
+        }
+
+        return upper;
+    }
+
     /**
      * Builder class to build a {@link BigDecimalValidationRules} object with predefined attributes.
      */
@@ -101,9 +237,34 @@ public final class BigDecimalValidationRules {
         private long minDecimalPlaces = MIN_DECIMAL_PLACES;
         private long maxDecimalPlaces = MAX_DECIMAL_PLACES;
         private long maxFractionalPlaces = MAX_FRACTIONAL_PLACES;
+        private long maxPrecision = Long.MAX_VALUE;
         private BigDecimal minValue = new BigDecimal(-Double.MAX_VALUE);
         private BigDecimal maxValue = new BigDecimal(Double.MAX_VALUE);
 
+        /**
+         * Builder with the default attributes.
+         */
+        public Builder() {
+
+            // defaults
+        }
+
+
+        /**
+         * Builder with the attributes of the given rules, e.g. to derive rules which differ in single attributes.
+         *
+         * @param  rules  to copy the attributes from
+         */
+        public Builder(BigDecimalValidationRules rules) {
+
+            minDecimalPlaces = rules.minDecimalPlaces;
+            maxDecimalPlaces = rules.maxDecimalPlaces;
+            maxFractionalPlaces = rules.maxFractionalPlaces;
+            maxPrecision = rules.maxPrecision;
+            minValue = rules.minValue;
+            maxValue = rules.maxValue;
+        }
+
         public Builder minDecimalPlaces(long minDecimalPlaces) {
 
             this.minDecimalPlaces = minDecimalPlaces;
@@ -128,6 +289,46 @@ public final class BigDecimalValidationRules {
         }
 
 
+        /**
+         * @param  maxPrecision  max count of significant digits, {@link Long#MAX_VALUE} if unlimited
+         */
+        public Builder maxPrecision(long maxPrecision) {
+
+            this.maxPrecision = maxPrecision;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the digit limits of a SQL <code>NUMERIC(precision, scale)</code> or <code>DECIMAL(precision,
+         * scale)</code> column: at most <code>precision - scale</code> decimal places (at least one, for the leading
+         * zero of values less than one), <code>scale</code> fractional places and <code>precision</code> significant
+         * digits. If the scale is not less than the precision, the column only holds values less than
+         * <code>10^(precision - scale)</code> in magnitude, so minValue and maxValue are narrowed to that range.
+         *
+         * @param  precision  of the column
+         * @param  scale  of the column
+         */
+        public Builder numeric(long precision, long scale) {
+
+            this.maxDecimalPlaces = Math.max(precision - scale, 1);
+            this.maxFractionalPlaces = scale;
+            this.maxPrecision = precision;
+
+            if (scale >= precision) {
+                // e.g. 0.99 for NUMERIC(2,2) and 0.099 for NUMERIC(2,3)
+                BigDecimal bound = BigDecimal.ONE.scaleByPowerOfTen((int) (precision - scale)).subtract(
+                        BigDecimal.ONE.scaleByPowerOfTen((int) -scale));
+
+                this.maxValue = maxValue.min(bound);
+                this.minValue = minValue.max(bound.negate());
+            }
+
+            return this;
+        }
+
+
         public Builder minValue(double minValue) {
 
             this.minValue = new BigDecimal(String.valueOf(minValue));
@@ -144,6 +345,36 @@ public final class BigDecimalValidationRules {
         }
 
 
+        /**
+         * @throws  IllegalArgumentException  if minValue is <code>null</code>
+         */
+        public Builder minValue(BigDecimal minValue) {
+
+            if (minValue == null) {
+                throw new IllegalArgumentException("minValue must not be null");
+            }
+
+            this.minValue = minValue;
+
+            return this;
+        }
+
+
+        /**
+         * @throws  IllegalArgumentException  if maxValue is <code>null</code>
+         */
+        public Builder maxValue(BigDecimal maxValue) {
+
+            if (maxValue == null) {
+                throw new IllegalArgumentException("maxValue must not be null");
+            }
+
+            this.maxValue = maxValue;
+
+            return this;
+        }
+
+
         public BigDecimalValidationRules build() {
 
             return new BigDecimalValidationRules(this);
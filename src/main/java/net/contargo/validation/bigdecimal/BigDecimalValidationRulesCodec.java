@@ -0,0 +1,150 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Compact binary form of named {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules
+ * BigDecimalValidationRules}, e.g. of a {@link BigDecimalValidationRulesRegistry#getSnapshot() registry snapshot},
+ * to hand the rules of a sharded validation run to worker processes.
+ *
+ * <p>Only the attributes of the rules are written, the values derived from them (exponents and double intervals of
+ * the bounds) are computed again when reading. Bounds are written exactly, as unscaled value and scale.</p>
+ *
+ * <pre>
+ Example:
+
+ BigDecimalValidationRulesCodec.write(registry.getSnapshot(), coordinatorOutput);
+ ...
+ Map&lt;String, BigDecimalValidationRules&gt; rules = BigDecimalValidationRulesCodec.read(workerInput);
+ * </pre>
+ */
+public final class BigDecimalValidationRulesCodec {
+
+    private static final int MAGIC = 0x42445652;
+    private static final int VERSION = 1;
+
+    private BigDecimalValidationRulesCodec() {
+
+        // static methods only
+    }
+
+    /**
+     * Writes named rules.
+     *
+     * @param  rules  by name
+     * @param  outputStream  to write to, it is not closed
+     *
+     * @throws  IOException  if the rules could not be written
+     */
+    public static void write(Map<String, BigDecimalValidationRules> rules, OutputStream outputStream)
+        throws IOException {
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(rules.size());
+
+        for (Map.Entry<String, BigDecimalValidationRules> entry : rules.entrySet()) {
+            output.writeUTF(entry.getKey());
+            writeRules(entry.getValue(), output);
+        }
+
+        output.flush();
+    }
+
+
+    /**
+     * Reads named rules written by {@link #write(java.util.Map, java.io.OutputStream)}.
+     *
+     * @param  inputStream  to read from, it is not closed and not read beyond the rules, buffer it for speed
+     *
+     * @return  the rules by name, in the order they were written
+     *
+     * @throws  IOException  if the rules could not be read
+     */
+    public static Map<String, BigDecimalValidationRules> read(InputStream inputStream) throws IOException {
+
+        // without own buffer, which would read ahead into the data following the rules
+        DataInputStream input = new DataInputStream(inputStream);
+
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Unknown validation rules format");
+        }
+
+        int size = input.readInt();
+        Map<String, BigDecimalValidationRules> rules = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            String name = input.readUTF();
+            rules.put(name, readRules(input));
+        }
+
+        return Collections.unmodifiableMap(rules);
+    }
+
+
+    static void writeRules(BigDecimalValidationRules rules, DataOutput output) throws IOException {
+
+        output.writeLong(rules.getMinDecimalPlaces());
+        output.writeLong(rules.getMaxDecimalPlaces());
+        output.writeLong(rules.getMaxFractionalPlaces());
+        output.writeLong(rules.getMaxPrecision());
+        writeDecimal(rules.getMinValue(), output);
+        writeDecimal(rules.getMaxValue(), output);
+    }
+
+
+    static BigDecimalValidationRules readRules(DataInput input) throws IOException {
+
+        long minDecimalPlaces = input.readLong();
+        long maxDecimalPlaces = input.readLong();
+        long maxFractionalPlaces = input.readLong();
+        long maxPrecision = input.readLong();
+        BigDecimal minValue = readDecimal(input);
+        BigDecimal maxValue = readDecimal(input);
+
+        return new BigDecimalValidationRules.Builder().minDecimalPlaces(minDecimalPlaces).maxDecimalPlaces(
+                maxDecimalPlaces).maxFractionalPlaces(maxFractionalPlaces).maxPrecision(maxPrecision).minValue(
+                minValue).maxValue(maxValue).build();
+    }
+
+
+    static void writeDecimal(BigDecimal value, DataOutput output) throws IOException {
+
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        output.writeInt(value.scale());
+        output.writeInt(unscaled.length);
+        output.write(unscaled);
+    }
+
+
+    static BigDecimal readDecimal(DataInput input) throws IOException {
+
+        int scale = input.readInt();
+        int length = input.readInt();
+
+        if (length <= 0) {
+            throw new IOException("Invalid length of an unscaled value: " + length);
+        }
+
+        byte[] unscaled = new byte[length];
+        input.readFully(unscaled);
+
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,277 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.math.BigDecimal;
+
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+
+/**
+ * Registry of named {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules BigDecimalValidationRules}
+ * loaded from a properties file.
+ *
+ * <p>Each property key consists of the rule name and the attribute, separated by the last dot. Rule names may
+ * contain dots themselves, e.g. to group them by tenant and product line:</p>
+ *
+ * <pre>
+ Example:
+
+ tenant1.freight.minDecimalPlaces=1
+ tenant1.freight.maxDecimalPlaces=6
+ tenant1.freight.maxFractionalPlaces=2
+ tenant1.freight.minValue=0
+ tenant1.freight.maxValue=250000.00
+ * </pre>
+ *
+ * <p>Attributes which are not set fall back to the defaults of the
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules.Builder Builder}.</p>
+ *
+ * <p>The registry publishes an immutable snapshot of all rules. Lookups never lock, a reload builds a complete new
+ * snapshot and replaces the old one atomically. If the file can not be read or contains invalid entries the
+ * previous snapshot stays active. To avoid reloading half written files, replace the file atomically (write to a
+ * temporary file and move it).</p>
+ */
+public class BigDecimalValidationRulesRegistry implements Closeable {
+
+    private final Path file;
+    private final AtomicReference<Map<String, BigDecimalValidationRules>> snapshot;
+
+    private WatchService watchService;
+
+    /**
+     * Creates a registry and loads the rules of the given properties file.
+     *
+     * @param  file  properties file with the rule definitions
+     *
+     * @throws  IOException  if the file can not be read
+     * @throws  IllegalArgumentException  if the file contains invalid entries
+     */
+    public BigDecimalValidationRulesRegistry(Path file) throws IOException {
+
+        this.file = file;
+        this.snapshot = new AtomicReference<>(load(file));
+    }
+
+    /**
+     * Returns the rules registered under the given name.
+     *
+     * @param  name  of the rules
+     *
+     * @return  the rules of the current snapshot or <code>null</code> if there are no rules with this name
+     */
+    public BigDecimalValidationRules getRules(String name) {
+
+        return snapshot.get().get(name);
+    }
+
+
+    /**
+     * Returns the names of all rules of the current snapshot.
+     *
+     * @return  unmodifiable set of rule names
+     */
+    public Set<String> getNames() {
+
+        return snapshot.get().keySet();
+    }
+
+
+    /**
+     * Returns the current snapshot of all rules.
+     *
+     * @return  unmodifiable map of rule names to rules
+     */
+    public Map<String, BigDecimalValidationRules> getSnapshot() {
+
+        return snapshot.get();
+    }
+
+
+    /**
+     * Reloads the rules from the file and publishes them as new snapshot.
+     *
+     * @throws  IOException  if the file can not be read, the previous snapshot stays active
+     * @throws  IllegalArgumentException  if the file contains invalid entries, the previous snapshot stays active
+     */
+    public void reload() throws IOException {
+
+        snapshot.set(load(file));
+    }
+
+
+    /**
+     * Starts a daemon thread which reloads the rules whenever the file is created or modified.
+     *
+     * @throws  IOException  if the file system can not be watched
+     */
+    public synchronized void startWatching() throws IOException {
+
+        if (watchService != null) {
+            return;
+        }
+
+        final WatchService service = file.getFileSystem().newWatchService();
+        file.toAbsolutePath().getParent().register(service, ENTRY_CREATE, ENTRY_MODIFY);
+
+        Thread watcher = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        watch(service);
+                    }
+                }, "big-decimal-rules-watcher-" + file.getFileName());
+        watcher.setDaemon(true);
+        watcher.start();
+
+        watchService = service;
+    }
+
+
+    /**
+     * Stops watching the file, the current snapshot stays available.
+     *
+     * @throws  IOException  if the underlying watch service can not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+
+    private void watch(WatchService service) {
+
+        Path fileName = file.getFileName();
+
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // events may have been lost on overflow, the file could be one of them
+                    if (event.kind() == OVERFLOW || fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+
+                key.reset();
+
+                if (changed) {
+                    reloadQuietly();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // watching stopped
+        }
+    }
+
+
+    private void reloadQuietly() {
+
+        try {
+            reload();
+        } catch (IOException | IllegalArgumentException e) {
+            // keep the previous snapshot until the file is valid again
+        }
+    }
+
+
+    private static Map<String, BigDecimalValidationRules> load(Path file) throws IOException {
+
+        Properties properties = new Properties();
+
+        try(InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        }
+
+        Map<String, BigDecimalValidationRules.Builder> builders = new HashMap<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.lastIndexOf('.');
+
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid rule key '" + key + "', expected <name>.<attribute>");
+            }
+
+            String name = key.substring(0, separator);
+            BigDecimalValidationRules.Builder builder = builders.get(name);
+
+            if (builder == null) {
+                builder = new BigDecimalValidationRules.Builder();
+                builders.put(name, builder);
+            }
+
+            apply(builder, key.substring(separator + 1), properties.getProperty(key).trim());
+        }
+
+        Map<String, BigDecimalValidationRules> rules = new HashMap<>();
+
+        for (Map.Entry<String, BigDecimalValidationRules.Builder> entry : builders.entrySet()) {
+            rules.put(entry.getKey(), entry.getValue().build());
+        }
+
+        return Collections.unmodifiableMap(rules);
+    }
+
+
+    private static void apply(BigDecimalValidationRules.Builder builder, String attribute, String value) {
+
+        try {
+            switch (attribute) {
+                case "minDecimalPlaces":
+                    builder.minDecimalPlaces(Long.parseLong(value));
+                    break;
+
+                case "maxDecimalPlaces":
+                    builder.maxDecimalPlaces(Long.parseLong(value));
+                    break;
+
+                case "maxFractionalPlaces":
+                    builder.maxFractionalPlaces(Long.parseLong(value));
+                    break;
+
+                case "maxPrecision":
+                    builder.maxPrecision(Long.parseLong(value));
+                    break;
+
+                case "minValue":
+                    builder.minValue(new BigDecimal(value));
+                    break;
+
+                case "maxValue":
+                    builder.maxValue(new BigDecimal(value));
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown rule attribute '" + attribute + "'");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for rule attribute '" + attribute + "'",
+                e);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package net.contargo.validation.bigdecimal;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
 
-import static java.lang.Math.abs;
+import java.util.EnumSet;
+import java.util.Set;
 
 
 /**
@@ -26,11 +29,40 @@ import static java.lang.Math.abs;
  }
  * </pre>
  *
+ * <p>A validator is immutable and thread-safe, share one instance between all threads. The validation keeps no
+ * state besides the returned result, which is created per call.</p>
+ *
  * @author  Tobias Schneider - schneider@synyx.de
  */
 public class BigDecimalValidator {
 
+    static final String NULL = "{net.contargo.validation.bigdecimal.null}";
+    static final String DECIMAL_OUT_OF_RANGE = "{net.contargo.validation.bigdecimal.decimaloutofrange}";
+    static final String FRACTIONAL_OUT_OF_RANGE = "{net.contargo.validation.bigdecimal.fractionaloutofrange}";
+    static final String PRECISION_OUT_OF_RANGE = "{net.contargo.validation.bigdecimal.precisionoutofrange}";
+    static final String TOO_BIG = "{net.contargo.validation.bigdecimal.toobig}";
+    static final String TOO_SMALL = "{net.contargo.validation.bigdecimal.toosmall}";
+
+    // checks of a non null value
+    static final int DECIMAL_CHECK = 0;
+    static final int FRACTIONAL_CHECK = 1;
+    static final int TOO_BIG_CHECK = 2;
+    static final int TOO_SMALL_CHECK = 3;
+    static final int PRECISION_CHECK = 4;
+    static final int CHECKS = 5;
+
+    private static final int MAX_APPROXIMATED_PRECISION = 15;
+    private static final int MAX_APPROXIMATED_SCALE = 22;
+
+    // result of the checks without BigDecimal if the value has to be decoded to decide
+    static final String UNDECIDED = "undecided";
+
+    private static final int[] DEFAULT_ORDER = {
+        DECIMAL_CHECK, FRACTIONAL_CHECK, PRECISION_CHECK, TOO_BIG_CHECK, TOO_SMALL_CHECK
+    };
+
     private final boolean checkFractions;
+    private final BigDecimalFailureListener failureListener;
 
     /**
      * BigDecimalValidator instance which allows fractionals by default.
@@ -48,7 +80,21 @@ public class BigDecimalValidator {
      */
     public BigDecimalValidator(boolean checkFractions) {
 
+        this(checkFractions, null);
+    }
+
+
+    /**
+     * BigDecimalValidator instance with or without fractional checks which reports every failure to the given
+     * listener, e.g. a {@link net.contargo.validation.bigdecimal.BigDecimalFailureSampler BigDecimalFailureSampler}.
+     *
+     * @param  checkFractions  <code>true</code> if fractional checks are enabled
+     * @param  failureListener  to report failures to, may be <code>null</code>
+     */
+    public BigDecimalValidator(boolean checkFractions, BigDecimalFailureListener failureListener) {
+
         this.checkFractions = checkFractions;
+        this.failureListener = failureListener;
     }
 
     /**
@@ -62,37 +108,469 @@ public class BigDecimalValidator {
     public BigDecimalValidationResult validate(BigDecimal bigDecimal,
         BigDecimalValidationRules bigDecimalValidationRules) {
 
+        return validate(bigDecimal, bigDecimalValidationRules, DEFAULT_ORDER);
+    }
+
+
+    /**
+     * Validates a decimal given as unscaled value and scale, like JDBC, Avro or Parquet decimals, by the given
+     * validation rules.
+     *
+     * <p>The count of digits is estimated by the bit length of the unscaled value and the bounds are compared by their
+     * decimal exponent, so values which are clearly in or out of range are validated without decoding them. Values
+     * near a digit boundary or a bound are decoded to a BigDecimal.</p>
+     *
+     * @param  unscaledValue  big-endian two's-complement binary representation of the unscaled value
+     * @param  scale  of the value
+     * @param  bigDecimalValidationRules  to validate with
+     *
+     * @return  {@link net.contargo.validation.bigdecimal.BigDecimalValidationResult BigDecimalValidationResult} object
+     *          with failure message
+     */
+    public BigDecimalValidationResult validate(byte[] unscaledValue, int scale,
+        BigDecimalValidationRules bigDecimalValidationRules) {
+
+        if (unscaledValue == null || unscaledValue.length == 0 || !checkFractions) {
+            return validate(decode(unscaledValue, scale), bigDecimalValidationRules);
+        }
+
+        String failMessage = validateBinary(unscaledValue, scale, bigDecimalValidationRules);
+
+        if (failMessage == UNDECIDED) {
+            return validate(decode(unscaledValue, scale), bigDecimalValidationRules);
+        }
+
         BigDecimalValidationResult result = new BigDecimalValidationResult();
+
+        if (failMessage != null) {
+            result.setFailMessage(failMessage);
+
+            if (failureListener != null) {
+                notifyFailure(decode(unscaledValue, scale), bigDecimalValidationRules, failMessage);
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Validates a BigDecimal and repairs it instead of rejecting it, e.g. for trusted feeds.
+     *
+     * <p>Excess fractional places and significant digits are rounded with the given rounding mode. Values beyond
+     * minValue or maxValue are clamped to the bound, which is rounded towards the inside of the range if it has too
+     * many digits itself. A valid value is returned as it is. <code>null</code> and values whose count of decimal
+     * places is out of range can not be repaired, not even by clamping them to a bound. Only values which can not be
+     * repaired are reported to the failure listener.</p>
+     *
+     * <pre>
+     Example:
+
+     BigDecimalRepairResult result = validator.repair(new BigDecimal("12.345"), rules, RoundingMode.HALF_UP);
+
+     if (result.isValid()) {
+         store(result.getValue());
+     }
+     * </pre>
+     *
+     * @param  bigDecimal  object to repair
+     * @param  bigDecimalValidationRules  to comply with
+     * @param  roundingMode  to round excess digits with, {@link java.math.RoundingMode#UNNECESSARY} to only clamp
+     *
+     * @return  {@link net.contargo.validation.bigdecimal.BigDecimalRepairResult BigDecimalRepairResult} object with
+     *          the compliant value or the failure message
+     */
+    public BigDecimalRepairResult repair(BigDecimal bigDecimal, BigDecimalValidationRules bigDecimalValidationRules,
+        RoundingMode roundingMode) {
+
+        Set<BigDecimalRepairResult.Change> changes = EnumSet.noneOf(BigDecimalRepairResult.Change.class);
+        BigDecimalValidationResult result = new BigDecimalValidationResult();
+
+        BigDecimal repaired = repair(bigDecimal, bigDecimalValidationRules, roundingMode, changes, result);
+
+        return new BigDecimalRepairResult(repaired, changes, result.getFailMessage());
+    }
+
+
+    /**
+     * Repairs many values with the same rules, see
+     * {@link #repair(java.math.BigDecimal, net.contargo.validation.bigdecimal.BigDecimalValidationRules,
+     * java.math.RoundingMode)}.
+     *
+     * @param  bigDecimals  objects to repair
+     * @param  bigDecimalValidationRules  to comply with
+     * @param  roundingMode  to round excess digits with
+     * @param  repaired  receives the compliant values, the same instance for valid values and <code>null</code> for
+     *                   values which can not be repaired, may be <code>bigDecimals</code> itself
+     *
+     * @return  count of values which can not be repaired
+     */
+    public int repair(BigDecimal[] bigDecimals, BigDecimalValidationRules bigDecimalValidationRules,
+        RoundingMode roundingMode, BigDecimal[] repaired) {
+
+        Set<BigDecimalRepairResult.Change> changes = EnumSet.noneOf(BigDecimalRepairResult.Change.class);
+        BigDecimalValidationResult result = new BigDecimalValidationResult();
+        int failed = 0;
+
+        for (int i = 0; i < bigDecimals.length; i++) {
+            changes.clear();
+            result.setFailMessage(null);
+
+            repaired[i] = repair(bigDecimals[i], bigDecimalValidationRules, roundingMode, changes, result);
+
+            if (!result.isValid()) {
+                failed++;
+            }
+        }
+
+        return failed;
+    }
+
+
+    /**
+     * Validates a BigDecimal by the given validation rules, running the checks in the given order and stopping at the
+     * first failing one. Every order gives the same verdict, but a value failing several checks is reported with the
+     * first of them.
+     *
+     * @param  order  of the checks, a permutation of {@link #DECIMAL_CHECK} to {@link #PRECISION_CHECK}
+     */
+    BigDecimalValidationResult validate(BigDecimal bigDecimal, BigDecimalValidationRules bigDecimalValidationRules,
+        int[] order) {
+
+        BigDecimalValidationResult result = new BigDecimalValidationResult();
+
+        validate(bigDecimal, bigDecimalValidationRules, order, result);
+
+        if (!result.isValid()) {
+            notifyFailure(bigDecimal, bigDecimalValidationRules, result.getFailMessage());
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Validates a BigDecimal like {@link #validate(java.math.BigDecimal,
+     * net.contargo.validation.bigdecimal.BigDecimalValidationRules, int[])}, but runs all checks, not only up to the
+     * first failing one.
+     *
+     * @param  order  of the checks, decides which failure is reported
+     * @param  result  receives the failure of the first failing check of the order
+     *
+     * @return  bit set of the failing checks, bit {@link #DECIMAL_CHECK} to {@link #PRECISION_CHECK}, <code>0</code>
+     *          for valid values and <code>null</code>
+     */
+    int failedChecks(BigDecimal bigDecimal, BigDecimalValidationRules bigDecimalValidationRules, int[] order,
+        BigDecimalValidationResult result) {
+
+        BigDecimal thisBigDecimal = parse(bigDecimal, result);
+        int failedChecks = 0;
+
+        if (result.isValid()) {
+            double approximation = approximate(thisBigDecimal);
+            BigDecimalValidationResult checkResult = new BigDecimalValidationResult();
+
+            for (int check : order) {
+                if (isFailing(check, thisBigDecimal, approximation, bigDecimalValidationRules, checkResult)) {
+                    failedChecks |= 1 << check;
+
+                    if (result.isValid()) {
+                        result.setFailMessage(checkResult.getFailMessage());
+                    }
+                }
+            }
+        }
+
+        if (!result.isValid()) {
+            notifyFailure(bigDecimal, bigDecimalValidationRules, result.getFailMessage());
+        }
+
+        return failedChecks;
+    }
+
+
+    /**
+     * @return  <code>true</code> if fractional checks are enabled
+     */
+    boolean isCheckFractions() {
+
+        return checkFractions;
+    }
+
+
+    /**
+     * Reports a failure decided outside of this validator to the failure listener.
+     */
+    void notifyFailure(BigDecimal bigDecimal, BigDecimalValidationRules bigDecimalValidationRules,
+        String failMessage) {
+
+        if (failureListener != null) {
+            failureListener.onFailure(bigDecimal, bigDecimalValidationRules, failMessage);
+        }
+    }
+
+
+    /**
+     * @return  <code>true</code> if failures are reported to a listener
+     */
+    boolean hasFailureListener() {
+
+        return failureListener != null;
+    }
+
+
+    private BigDecimal repair(BigDecimal bigDecimal, BigDecimalValidationRules rules, RoundingMode roundingMode,
+        Set<BigDecimalRepairResult.Change> changes, BigDecimalValidationResult result) {
+
+        validate(bigDecimal, rules, DEFAULT_ORDER, result);
+
+        if (result.isValid()) {
+            return bigDecimal;
+        }
+
+        // the decimal places are checked first, a value with too many of them is not clamped to the bound
+        if (bigDecimal == null || result.getFailMessage() == DECIMAL_OUT_OF_RANGE) {
+            return failRepair(bigDecimal, rules, result);
+        }
+
+        BigDecimal repaired = round(bigDecimal, rules, roundingMode);
+
+        if (repaired != bigDecimal) {
+            changes.add(BigDecimalRepairResult.Change.ROUNDED);
+        }
+
+        if (repaired.compareTo(rules.getMaxValue()) > 0) {
+            repaired = round(rules.getMaxValue(), rules, RoundingMode.FLOOR);
+            changes.add(BigDecimalRepairResult.Change.CLAMPED);
+        } else if (repaired.compareTo(rules.getMinValue()) < 0) {
+            repaired = round(rules.getMinValue(), rules, RoundingMode.CEILING);
+            changes.add(BigDecimalRepairResult.Change.CLAMPED);
+        }
+
+        result.setFailMessage(null);
+        validate(repaired, rules, DEFAULT_ORDER, result);
+
+        return result.isValid() ? repaired : failRepair(bigDecimal, rules, result);
+    }
+
+
+    private BigDecimal failRepair(BigDecimal bigDecimal, BigDecimalValidationRules rules,
+        BigDecimalValidationResult result) {
+
+        notifyFailure(bigDecimal, rules, result.getFailMessage());
+
+        return null;
+    }
+
+
+    /**
+     * Rounds off the fractional places and significant digits exceeding the rules.
+     *
+     * @return  the rounded value, the given instance if nothing is rounded off or the rounding mode does not allow it
+     */
+    private BigDecimal round(BigDecimal bigDecimal, BigDecimalValidationRules rules, RoundingMode roundingMode) {
+
+        BigDecimal rounded = bigDecimal;
+
+        try {
+            long maxFractionalPlaces = rules.getMaxFractionalPlaces();
+
+            if (checkFractions && maxFractionalPlaces >= 0
+                    && BigDecimalDigits.fractionalPlaces(rounded) > maxFractionalPlaces) {
+                rounded = rounded.setScale((int) maxFractionalPlaces, roundingMode);
+            }
+
+            long maxPrecision = rules.getMaxPrecision();
+
+            if (!rules.isPrecisionImplied() && maxPrecision >= 1
+                    && BigDecimalDigits.exceedsPrecision(rounded, maxPrecision)) {
+                rounded = rounded.round(new MathContext((int) maxPrecision, roundingMode));
+            }
+        } catch (ArithmeticException e) {
+            // RoundingMode.UNNECESSARY and digits to round off
+            return bigDecimal;
+        }
+
+        return rounded;
+    }
+
+
+    private void validate(BigDecimal bigDecimal, BigDecimalValidationRules bigDecimalValidationRules, int[] order,
+        BigDecimalValidationResult result) {
+
         BigDecimal thisBigDecimal = parse(bigDecimal, result);
 
         // return result after parsing errors
         if (!result.isValid()) {
-            return result;
+            return;
+        }
+
+        // approximated only if a min/max check is reached
+        double approximation = Double.NaN;
+        boolean approximated = false;
+
+        for (int check : order) {
+            if (!approximated && (check == TOO_BIG_CHECK || check == TOO_SMALL_CHECK)) {
+                approximation = approximate(thisBigDecimal);
+                approximated = true;
+            }
+
+            if (isFailing(check, thisBigDecimal, approximation, bigDecimalValidationRules, result)) {
+                return;
+            }
+        }
+    }
+
+
+    private boolean isFailing(int check, BigDecimal bigDecimal, double approximation,
+        BigDecimalValidationRules validationRules, BigDecimalValidationResult result) {
+
+        switch (check) {
+            case DECIMAL_CHECK:
+                return isDecimalOutOfRange(bigDecimal, validationRules, result);
+
+            case FRACTIONAL_CHECK:
+                return checkFractions && isFractionalOutOfRange(bigDecimal, validationRules, result);
+
+            case TOO_BIG_CHECK:
+                return isTooBig(bigDecimal, approximation, validationRules, result);
+
+            case TOO_SMALL_CHECK:
+                return isTooSmall(bigDecimal, approximation, validationRules, result);
+
+            case PRECISION_CHECK:
+                return isPrecisionOutOfRange(bigDecimal, validationRules, result);
+
+            default:
+                throw new IllegalArgumentException("Unknown check " + check);
         }
+    }
+
 
-        // calculate number if BigDecimal is set by power of x (e.g.: 1E88)
-        if (thisBigDecimal.scale() < 0) {
-            thisBigDecimal = new BigDecimal(thisBigDecimal.unscaledValue()
-                    .multiply(BigInteger.TEN.pow(abs(thisBigDecimal.scale()))));
+    /**
+     * Validates the binary representation of a value without decoding it.
+     *
+     * @return  the failure message, <code>null</code> if the value is valid or {@link #UNDECIDED} if it has to be
+     *          decoded
+     */
+    private static String validateBinary(byte[] unscaledValue, int scale, BigDecimalValidationRules rules) {
+
+        boolean negative = unscaledValue[0] < 0;
+        int signByte = negative ? 0xFF : 0;
+        int first = 0;
+
+        while (first < unscaledValue.length && (unscaledValue[first] & 0xFF) == signByte) {
+            first++;
         }
 
-        if (isDecimalOutOfRange(thisBigDecimal, bigDecimalValidationRules, result)) {
-            return result;
+        long fractionalPlaces = Math.max(scale, 0);
+
+        if (first == unscaledValue.length && !negative) {
+            return validateZero(fractionalPlaces, rules);
         }
 
-        if (checkFractions && isFractionalOutOfRange(thisBigDecimal, bigDecimalValidationRules, result)) {
-            return result;
+        // bit length of the magnitude, or of the magnitude - 1 for negative values
+        long bitLength = 0;
+
+        if (first < unscaledValue.length) {
+            int leadingByte = (negative ? ~unscaledValue[first] : unscaledValue[first]) & 0xFF;
+            bitLength = (unscaledValue.length - first - 1) * 8L + 32 - Integer.numberOfLeadingZeros(leadingByte);
         }
 
-        if (isTooBig(thisBigDecimal, bigDecimalValidationRules, result)) {
-            return result;
+        long maxDigits = BigDecimalDigits.maxDigits(bitLength);
+        long minDecimalPlaces = Math.max(BigDecimalDigits.minDigits(bitLength) - scale, 1);
+        long maxDecimalPlaces = Math.max(maxDigits - scale, 1);
+
+        if (maxDecimalPlaces < rules.getMinDecimalPlaces() || minDecimalPlaces > rules.getMaxDecimalPlaces()) {
+            return DECIMAL_OUT_OF_RANGE;
         }
 
-        if (isTooSmall(thisBigDecimal, bigDecimalValidationRules, result)) {
-            return result;
+        if (minDecimalPlaces < rules.getMinDecimalPlaces() || maxDecimalPlaces > rules.getMaxDecimalPlaces()) {
+            return UNDECIDED;
         }
 
-        return result;
+        if (fractionalPlaces > rules.getMaxFractionalPlaces()) {
+            return FRACTIONAL_OUT_OF_RANGE;
+        }
+
+        if (!rules.isPrecisionImplied()) {
+            if (BigDecimalDigits.minDigits(bitLength) > rules.getMaxPrecision()) {
+                return PRECISION_OUT_OF_RANGE;
+            }
+
+            if (maxDigits > rules.getMaxPrecision()) {
+                return UNDECIDED;
+            }
+        }
+
+        // |value| < 10^magnitudeExponent
+        long magnitudeExponent = maxDigits - scale;
+
+        if (negative) {
+            return validateNegative(magnitudeExponent, rules);
+        }
+
+        return validatePositive(magnitudeExponent, rules);
+    }
+
+
+    static String validateZero(long fractionalPlaces, BigDecimalValidationRules rules) {
+
+        if (rules.getMinDecimalPlaces() > 1 || rules.getMaxDecimalPlaces() < 1) {
+            return DECIMAL_OUT_OF_RANGE;
+        }
+
+        if (fractionalPlaces > rules.getMaxFractionalPlaces()) {
+            return FRACTIONAL_OUT_OF_RANGE;
+        }
+
+        if (rules.getMaxPrecision() < 1) {
+            return PRECISION_OUT_OF_RANGE;
+        }
+
+        if (rules.getMaxValue().signum() < 0) {
+            return TOO_BIG;
+        }
+
+        if (rules.getMinValue().signum() > 0) {
+            return TOO_SMALL;
+        }
+
+        return null;
+    }
+
+
+    static String validatePositive(long magnitudeExponent, BigDecimalValidationRules rules) {
+
+        if (rules.getMaxValue().signum() <= 0) {
+            return TOO_BIG;
+        }
+
+        if (magnitudeExponent > rules.getMaxValueExponent()) {
+            return UNDECIDED;
+        }
+
+        return rules.getMinValue().signum() <= 0 ? null : UNDECIDED;
+    }
+
+
+    static String validateNegative(long magnitudeExponent, BigDecimalValidationRules rules) {
+
+        if (rules.getMaxValue().signum() < 0) {
+            return UNDECIDED;
+        }
+
+        if (rules.getMinValue().signum() >= 0) {
+            return TOO_SMALL;
+        }
+
+        return magnitudeExponent <= rules.getMinValueExponent() ? null : UNDECIDED;
+    }
+
+
+    private static BigDecimal decode(byte[] unscaledValue, int scale) {
+
+        return unscaledValue == null ? null : new BigDecimal(new BigInteger(unscaledValue), scale);
     }
 
 
@@ -108,7 +586,7 @@ public class BigDecimalValidator {
         BigDecimal thisBigDecimal = bigDecimal;
 
         if (thisBigDecimal == null) {
-            result.setFailMessage("{net.contargo.validation.bigdecimal.null}");
+            result.setFailMessage(NULL);
         } else {
             if (!checkFractions) {
                 thisBigDecimal = new BigDecimal(bigDecimal.intValue());
@@ -130,18 +608,12 @@ public class BigDecimalValidator {
     private boolean isDecimalOutOfRange(BigDecimal bigDecimal, BigDecimalValidationRules validationRules,
         BigDecimalValidationResult result) {
 
-        int actualScale = bigDecimal.scale();
-        int actualPrecision = bigDecimal.precision();
-
-        if (actualPrecision <= actualScale) {
-            actualPrecision = actualScale + 1;
-        }
-
-        int actualDecimalPlaces = actualPrecision - actualScale;
+        // a power of ten (e.g.: 1E88) counts as decimal places
+        long actualDecimalPlaces = BigDecimalDigits.decimalPlaces(bigDecimal);
 
         if (actualDecimalPlaces < validationRules.getMinDecimalPlaces()
                 || actualDecimalPlaces > validationRules.getMaxDecimalPlaces()) {
-            result.setFailMessage("{net.contargo.validation.bigdecimal.decimaloutofrange}");
+            result.setFailMessage(DECIMAL_OUT_OF_RANGE);
 
             return true;
         }
@@ -161,10 +633,38 @@ public class BigDecimalValidator {
     private boolean isFractionalOutOfRange(BigDecimal bigDecimal, BigDecimalValidationRules validationRules,
         BigDecimalValidationResult result) {
 
-        int actualFractionalPlaces = bigDecimal.scale();
+        long actualFractionalPlaces = BigDecimalDigits.fractionalPlaces(bigDecimal);
 
         if (actualFractionalPlaces > validationRules.getMaxFractionalPlaces()) {
-            result.setFailMessage("{net.contargo.validation.bigdecimal.fractionaloutofrange}");
+            result.setFailMessage(FRACTIONAL_OUT_OF_RANGE);
+
+            return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Checks for the count of significant digits.
+     *
+     * <p>Rules whose decimal and fractional places imply the precision, like the ones of a <code>NUMERIC(p,s)</code>
+     * column, need no check.</p>
+     *
+     * @param  bigDecimal  object to test
+     * @param  validationRules  keeps the validation rules
+     *
+     * @return  true if is is out of range, else otherwise
+     */
+    private boolean isPrecisionOutOfRange(BigDecimal bigDecimal, BigDecimalValidationRules validationRules,
+        BigDecimalValidationResult result) {
+
+        if (validationRules.isPrecisionImplied()) {
+            return false;
+        }
+
+        if (BigDecimalDigits.exceedsPrecision(bigDecimal, validationRules.getMaxPrecision())) {
+            result.setFailMessage(PRECISION_OUT_OF_RANGE);
 
             return true;
         }
@@ -173,19 +673,51 @@ public class BigDecimalValidator {
     }
 
 
+    /**
+     * Approximates a BigDecimal by a double if that is cheaper than comparing it.
+     *
+     * <p>BigDecimals with up to {@value #MAX_APPROXIMATED_PRECISION} digits and a small scale are converted by a
+     * single floating point operation, larger ones would be converted through their string representation.</p>
+     *
+     * @param  bigDecimal  to approximate
+     *
+     * @return  the double value or <code>NaN</code> if the BigDecimal should be compared exactly
+     */
+    static double approximate(BigDecimal bigDecimal) {
+
+        int scale = bigDecimal.scale();
+
+        if (bigDecimal.precision() > MAX_APPROXIMATED_PRECISION || scale > MAX_APPROXIMATED_SCALE
+                || scale < -MAX_APPROXIMATED_SCALE) {
+            return Double.NaN;
+        }
+
+        return bigDecimal.doubleValue();
+    }
+
+
     /**
      * Checks if the value of the BigDecimal is greater than the given maximum.
      *
+     * <p>Values whose double approximation is clearly below or above the maximum are decided without comparing
+     * BigDecimals.</p>
+     *
      * @param  bigDecimal  object to test
+     * @param  approximation  of the BigDecimal, <code>NaN</code> to compare exactly
      * @param  validationRules  keeps the validation rules
      *
      * @return  true if is is too big, else otherwise
      */
-    private boolean isTooBig(BigDecimal bigDecimal, BigDecimalValidationRules validationRules,
+    private boolean isTooBig(BigDecimal bigDecimal, double approximation, BigDecimalValidationRules validationRules,
         BigDecimalValidationResult result) {
 
-        if (bigDecimal.compareTo(validationRules.getMaxValue()) > 0) {
-            result.setFailMessage("{net.contargo.validation.bigdecimal.toobig}");
+        if (approximation < validationRules.getMaxValueLower()) {
+            return false;
+        }
+
+        if (approximation > validationRules.getMaxValueUpper()
+                || bigDecimal.compareTo(validationRules.getMaxValue()) > 0) {
+            result.setFailMessage(TOO_BIG);
 
             return true;
         }
@@ -197,16 +729,25 @@ public class BigDecimalValidator {
     /**
      * Checks if the value of the BigDecimal is less than the given minimum.
      *
+     * <p>Values whose double approximation is clearly above or below the minimum are decided without comparing
+     * BigDecimals.</p>
+     *
      * @param  bigDecimal  object to test
+     * @param  approximation  of the BigDecimal, <code>NaN</code> to compare exactly
      * @param  validationRules  keeps the validation rules
      *
      * @return  true if is is too small, else otherwise
      */
-    private boolean isTooSmall(BigDecimal bigDecimal, BigDecimalValidationRules validationRules,
-        BigDecimalValidationResult result) {
+    private boolean isTooSmall(BigDecimal bigDecimal, double approximation,
+        BigDecimalValidationRules validationRules, BigDecimalValidationResult result) {
+
+        if (approximation > validationRules.getMinValueUpper()) {
+            return false;
+        }
 
-        if (bigDecimal.compareTo(validationRules.getMinValue()) < 0) {
-            result.setFailMessage("{net.contargo.validation.bigdecimal.toosmall}");
+        if (approximation < validationRules.getMinValueLower()
+                || bigDecimal.compareTo(validationRules.getMinValue()) < 0) {
+            result.setFailMessage(TOO_SMALL);
 
             return true;
         }
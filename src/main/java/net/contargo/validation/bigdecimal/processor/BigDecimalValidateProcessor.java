@@ -0,0 +1,504 @@
+package net.contargo.validation.bigdecimal.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+import javax.tools.Diagnostic;
+
+
+/**
+ * Annotation processor which generates a reflection free
+ * {@link net.contargo.validation.bigdecimal.BigDecimalBeanValidator BigDecimalBeanValidator} for every type with
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidate BigDecimalValidate} annotated fields or getters.
+ *
+ * <p>The generated class <code>&lt;Type&gt;BigDecimalBeanValidator</code> is placed in the package of the annotated
+ * type. The bounds of every annotation are baked in as constant
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidationRules BigDecimalValidationRules} and the properties
+ * are read directly, so they have to be at least package visible. Private fields are read through a non private
+ * getter returning a BigDecimal. Annotated members of super classes are validated as well, they have to be public if
+ * the super class is in another package. A subclass without annotated members of its own is validated by the
+ * validator of its super class.</p>
+ *
+ * <p>The processor is registered as service and runs automatically when this library is on the compile classpath.
+ * It never fails the compilation: types with members a generated validator can not read (e.g. private fields
+ * without getter, static members, other types than BigDecimal, local or anonymous classes) or with bounds which are
+ * not finite are skipped with a note, they are still validated by the Bean Validation provider.</p>
+ */
+@SupportedAnnotationTypes(BigDecimalValidateProcessor.ANNOTATION)
+public class BigDecimalValidateProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "net.contargo.validation.bigdecimal.BigDecimalValidate";
+    static final String SUFFIX = "BigDecimalBeanValidator";
+
+    private static final String BIG_DECIMAL = "java.math.BigDecimal";
+    private static final String[] ATTRIBUTES = {
+        "minDecimalPlaces", "maxDecimalPlaces", "maxFractionalPlaces", "maxPrecision", "minValue", "maxValue"
+    };
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latestSupported();
+    }
+
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+
+        if (annotation == null || !annotations.contains(annotation)) {
+            return false;
+        }
+
+        Set<TypeElement> types = new LinkedHashSet<>();
+
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+            // composed constraints are left to the Bean Validation provider
+            if (element.getKind() == ElementKind.FIELD || element.getKind() == ElementKind.METHOD) {
+                types.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+
+        for (TypeElement type : types) {
+            List<Property> properties = toProperties(type, annotation);
+
+            // a validator which leaves out a property would report invalid beans as valid
+            if (properties != null) {
+                generate(type, properties);
+            }
+        }
+
+        // other processors may handle the annotation as well
+        return false;
+    }
+
+
+    /**
+     * @return  the annotated properties of the type and its super classes, <code>null</code> if one of them can not
+     *          be validated
+     */
+    private List<Property> toProperties(TypeElement type, TypeElement annotation) {
+
+        List<Property> properties = new ArrayList<>();
+        boolean skipped = false;
+
+        for (TypeElement declaringType = type; declaringType != null; declaringType = superclass(declaringType)) {
+            for (Element element : declaringType.getEnclosedElements()) {
+                if ((element.getKind() == ElementKind.FIELD || element.getKind() == ElementKind.METHOD)
+                        && isAnnotated(element, annotation)) {
+                    Property property = toProperty(type, element, annotation);
+
+                    if (property == null) {
+                        skipped = true;
+                    } else {
+                        properties.add(property);
+                    }
+                }
+            }
+        }
+
+        return skipped ? null : properties;
+    }
+
+
+    private Property toProperty(TypeElement type, Element element, TypeElement annotation) {
+
+        TypeMirror bigDecimal = processingEnv.getElementUtils().getTypeElement(BIG_DECIMAL).asType();
+        TypeElement declaringType = (TypeElement) element.getEnclosingElement();
+        String name = element.getSimpleName().toString();
+        Element member = element;
+        String accessor;
+        TypeMirror valueType;
+
+        if (element.getKind() == ElementKind.FIELD) {
+            accessor = name;
+            valueType = element.asType();
+
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                ExecutableElement getter = findGetter(declaringType, name);
+
+                if (getter == null) {
+                    return skip(type, element,
+                            "private field without getter can not be validated by a generated validator, make it "
+                            + "package visible or add a non private getter");
+                }
+
+                if (!processingEnv.getTypeUtils().isAssignable(getter.getReturnType(), bigDecimal)) {
+                    return skip(type, element,
+                            "getter of private field does not return java.math.BigDecimal, it can not be validated "
+                            + "by a generated validator");
+                }
+
+                member = getter;
+                accessor = getter.getSimpleName() + "()";
+            }
+        } else {
+            ExecutableElement method = (ExecutableElement) element;
+
+            if (!method.getParameters().isEmpty() || method.getModifiers().contains(Modifier.PRIVATE)) {
+                return skip(type, element, "only non private getters without parameters can be validated");
+            }
+
+            accessor = name + "()";
+            valueType = method.getReturnType();
+            name = toPropertyName(name);
+        }
+
+        if (element.getModifiers().contains(Modifier.STATIC)) {
+            return skip(type, element, "static members can not be validated");
+        }
+
+        if (!processingEnv.getTypeUtils().isAssignable(valueType, bigDecimal)) {
+            return skip(type, element, "only java.math.BigDecimal can be validated");
+        }
+
+        if (!isAccessible(type)) {
+            return skip(type, element, "private types can not be validated by a generated validator");
+        }
+
+        if (!isNamed(type)) {
+            return skip(type, element,
+                    "members of local or anonymous classes can not be validated by a generated validator");
+        }
+
+        if (declaringType != type) {
+            if (!isPublic(member) && !getPackage(declaringType).equals(getPackage(type))) {
+                return skip(type, element,
+                        "members of super classes in other packages have to be public to be validated by a "
+                        + "generated validator");
+            }
+
+            // a field of the super class may be hidden by one of the type
+            accessor = "((" + declaringType.getQualifiedName() + wildcards(declaringType) + ") bean)." + accessor;
+        } else {
+            accessor = "bean." + accessor;
+        }
+
+        Map<String, Object> attributes = attributes(element, annotation);
+
+        if (!isFinite(attributes.get("minValue")) || !isFinite(attributes.get("maxValue"))) {
+            return skip(type, element, "minValue and maxValue have to be finite");
+        }
+
+        return new Property(name, accessor, attributes);
+    }
+
+
+    private ExecutableElement findGetter(TypeElement type, String field) {
+
+        String getter = "get" + Character.toUpperCase(field.charAt(0)) + field.substring(1);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(getter) && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+
+
+    private TypeElement superclass(TypeElement type) {
+
+        TypeMirror superclass = type.getSuperclass();
+
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(superclass);
+
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+
+    private boolean isAnnotated(Element element, TypeElement annotation) {
+
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (processingEnv.getTypeUtils().isSameType(mirror.getAnnotationType(), annotation.asType())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    private Map<String, Object> attributes(Element element, TypeElement annotation) {
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (processingEnv.getTypeUtils().isSameType(mirror.getAnnotationType(), annotation.asType())) {
+                Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils()
+                    .getElementValuesWithDefaults(mirror);
+
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values.entrySet()) {
+                    attributes.put(value.getKey().getSimpleName().toString(), value.getValue().getValue());
+                }
+            }
+        }
+
+        return attributes;
+    }
+
+
+    private void generate(TypeElement type, List<Property> properties) {
+
+        String packageName = getPackage(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String validatorName = toValidatorName(type);
+        String beanType = typeName + wildcards(type);
+
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n * Generated by ").append(getClass().getName()).append(", do not edit.\n */\n");
+        source.append("public final class ").append(validatorName)
+            .append(" implements net.contargo.validation.bigdecimal.BigDecimalBeanValidator<").append(beanType)
+            .append("> {\n\n");
+
+        for (int i = 0; i < properties.size(); i++) {
+            source.append("    private static final net.contargo.validation.bigdecimal.BigDecimalValidationRules ")
+                .append("RULES_").append(i)
+                .append(" = new net.contargo.validation.bigdecimal.BigDecimalValidationRules.Builder()");
+
+            for (String attribute : ATTRIBUTES) {
+                source.append("\n        .").append(attribute).append('(')
+                    .append(toLiteral(properties.get(i).attributes.get(attribute))).append(')');
+            }
+
+            source.append(".build();\n");
+        }
+
+        source.append("\n    private final net.contargo.validation.bigdecimal.BigDecimalValidator ")
+            .append("bigDecimalValidator = new net.contargo.validation.bigdecimal.BigDecimalValidator();\n\n");
+
+        source.append("    @Override\n    public java.util.Map<String, ")
+            .append("net.contargo.validation.bigdecimal.BigDecimalValidationResult> validate(").append(beanType)
+            .append(" bean) {\n\n");
+        source.append("        java.util.Map<String, net.contargo.validation.bigdecimal.BigDecimalValidationResult> ")
+            .append("failures = new java.util.LinkedHashMap<String, ")
+            .append("net.contargo.validation.bigdecimal.BigDecimalValidationResult>();\n\n");
+
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            source.append("        validate(failures, \"").append(property.name).append("\", ")
+                .append(property.accessor).append(", RULES_").append(i).append(");\n");
+        }
+
+        source.append("\n        return failures;\n    }\n\n\n");
+
+        source.append("    private void validate(java.util.Map<String, ")
+            .append("net.contargo.validation.bigdecimal.BigDecimalValidationResult> failures, String property,\n")
+            .append("        java.math.BigDecimal value, net.contargo.validation.bigdecimal.BigDecimalValidationRules")
+            .append(" rules) {\n\n");
+        source.append("        if (value != null) {\n");
+        source.append("            net.contargo.validation.bigdecimal.BigDecimalValidationResult result = ")
+            .append("bigDecimalValidator.validate(value, rules);\n\n");
+        source.append("            if (!result.isValid()) {\n");
+        source.append("                failures.put(property, result);\n");
+        source.append("            }\n        }\n    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? validatorName : packageName + "." + validatorName;
+
+        try(Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.WARNING, "could not generate " + qualifiedName + ": " + e.getMessage(),
+                    type);
+        }
+    }
+
+
+    private boolean isAccessible(TypeElement type) {
+
+        Element current = type;
+
+        while (current instanceof TypeElement) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            current = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Reports why no validator is generated for the type, the compilation goes on.
+     */
+    private Property skip(TypeElement type, Element element, String message) {
+
+        processingEnv.getMessager()
+            .printMessage(Diagnostic.Kind.NOTE,
+                message + ", no " + SUFFIX + " is generated for " + type.getSimpleName(), element);
+
+        return null;
+    }
+
+
+    /**
+     * @return  <code>true</code> if the member and all its enclosing types are public
+     */
+    private static boolean isPublic(Element member) {
+
+        Element current = member;
+
+        while (!(current instanceof PackageElement)) {
+            if (!current.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+
+            current = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+
+    /**
+     * @return  <code>false</code> for local and anonymous classes and for types nested in them
+     */
+    private static boolean isNamed(TypeElement type) {
+
+        Element current = type;
+
+        while (current instanceof TypeElement) {
+            NestingKind nestingKind = ((TypeElement) current).getNestingKind();
+
+            if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+                return false;
+            }
+
+            current = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+
+    private static boolean isFinite(Object value) {
+
+        return !(value instanceof Double) || !(Double.isNaN((Double) value) || Double.isInfinite((Double) value));
+    }
+
+
+    static String toValidatorName(TypeElement type) {
+
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name.append(SUFFIX).toString();
+    }
+
+
+    private static PackageElement getPackage(Element element) {
+
+        Element current = element;
+
+        while (!(current instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+        }
+
+        return (PackageElement) current;
+    }
+
+
+    private static String wildcards(TypeElement type) {
+
+        int count = type.getTypeParameters().size();
+
+        if (count == 0) {
+            return "";
+        }
+
+        StringBuilder wildcards = new StringBuilder("<?");
+
+        for (int i = 1; i < count; i++) {
+            wildcards.append(", ?");
+        }
+
+        return wildcards.append('>').toString();
+    }
+
+
+    private static String toPropertyName(String getter) {
+
+        String name = getter;
+
+        if (name.startsWith("get") && name.length() > 3) {
+            name = name.substring(3);
+        } else if (name.startsWith("is") && name.length() > 2) {
+            name = name.substring(2);
+        } else {
+            return name;
+        }
+
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+
+    private static String toLiteral(Object value) {
+
+        if (value instanceof Double) {
+            // finite, checked by isFinite
+            return Double.toString((Double) value) + "D";
+        }
+
+        return value + "L";
+    }
+
+    private static final class Property {
+
+        private final String name;
+        private final String accessor;
+        private final Map<String, Object> attributes;
+
+        private Property(String name, String accessor, Map<String, Object> attributes) {
+
+            this.name = name;
+            this.accessor = accessor;
+            this.attributes = attributes;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalAdaptiveValidator BigDecimalAdaptiveValidator}.
+ */
+public class BigDecimalAdaptiveValidatorUnitTest {
+
+    private BigDecimalValidator validator;
+    private BigDecimalValidationRules rules;
+
+    @Before
+    public void setUp() {
+
+        validator = new BigDecimalValidator();
+        rules = new BigDecimalValidationRules.Builder().minDecimalPlaces(1).maxDecimalPlaces(6).maxFractionalPlaces(2)
+            .minValue(0).maxValue(10000).build();
+    }
+
+
+    @Test
+    public void keepsDefaultOrderWithoutFailures() {
+
+        BigDecimalAdaptiveValidator sut = new BigDecimalAdaptiveValidator(validator, rules, 1, 10);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(sut.validate(new BigDecimal("12.5")).isValid(), is(true));
+        }
+
+        assertThat(sut.getOrder(), is(new int[] { 0, 1, 4, 2, 3 }));
+    }
+
+
+    @Test
+    public void reportsSampledFailuresOnce() {
+
+        BigDecimalFailureSampler sampler = new BigDecimalFailureSampler(5);
+        BigDecimalAdaptiveValidator sut = new BigDecimalAdaptiveValidator(new BigDecimalValidator(true, sampler),
+                rules, 1, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(sut.validate(new BigDecimal("-5.123")).getFailMessage(),
+                is(BigDecimalValidator.FRACTIONAL_OUT_OF_RANGE));
+        }
+
+        assertThat(sampler.getSamples().size(), is(1));
+        assertThat(sampler.getSamples().get(0).getCount(), is(10L));
+    }
+
+
+    @Test
+    public void runsFrequentlyFailingCheckFirst() {
+
+        BigDecimalAdaptiveValidator sut = new BigDecimalAdaptiveValidator(validator, rules, 1, 10);
+
+        for (int i = 0; i < 100; i++) {
+            sut.validate(new BigDecimal("-5"));
+        }
+
+        assertThat(sut.getOrder()[0], is(BigDecimalValidator.TOO_SMALL_CHECK));
+
+        // follows a changing stream
+        for (int i = 0; i < 100; i++) {
+            sut.validate(new BigDecimal("5.123"));
+        }
+
+        assertThat(sut.getOrder()[0], is(BigDecimalValidator.FRACTIONAL_CHECK));
+    }
+
+
+    @Test
+    public void reportsFirstFailingCheckOfTheOrder() {
+
+        BigDecimalAdaptiveValidator sut = new BigDecimalAdaptiveValidator(validator, rules, 1, 10);
+
+        for (int i = 0; i < 100; i++) {
+            sut.validate(new BigDecimal("-5"));
+        }
+
+        assertThat(sut.validate(new BigDecimal("-5.123")).getFailMessage(), is(BigDecimalValidator.TOO_SMALL));
+        assertThat(validator.validate(new BigDecimal("-5.123"), rules).getFailMessage(),
+            is(BigDecimalValidator.FRACTIONAL_OUT_OF_RANGE));
+    }
+
+
+    @Test
+    public void keepsVerdictOfValidator() {
+
+        BigDecimalAdaptiveValidator sut = new BigDecimalAdaptiveValidator(validator, rules, 3, 50);
+        Random random = new Random(3);
+
+        for (int i = 0; i < 20000; i++) {
+            BigDecimal value = new BigDecimal(new BigInteger(random.nextInt(40) + 1, random).subtract(
+                        BigInteger.valueOf(100)), random.nextInt(6) - 1);
+
+            assertThat(value.toString(), sut.validate(value).isValid(), is(validator.validate(value, rules).isValid()));
+        }
+
+        assertThat(sut.validate(null).getFailMessage(), is(BigDecimalValidator.NULL));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sampleRateIsPositive() {
+
+        new BigDecimalAdaptiveValidator(validator, rules, 0, 10);
+    }
+}
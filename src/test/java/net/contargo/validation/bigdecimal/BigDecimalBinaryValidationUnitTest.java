@@ -0,0 +1,120 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of the validation of binary decimals by
+ * {@link net.contargo.validation.bigdecimal.BigDecimalValidator#validate(byte[], int, BigDecimalValidationRules)}.
+ */
+public class BigDecimalBinaryValidationUnitTest {
+
+    private BigDecimalValidator sut;
+    private List<BigDecimalValidationRules> rules;
+
+    @Before
+    public void setUp() {
+
+        sut = new BigDecimalValidator();
+
+        rules = new ArrayList<>();
+        rules.add(new BigDecimalValidationRules.Builder().build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(0).maxValue(1000).maxDecimalPlaces(4).build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(-1000).maxValue(-10).maxFractionalPlaces(3)
+            .build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(0.5).maxValue(0.75).maxFractionalPlaces(5)
+            .build());
+        rules.add(new BigDecimalValidationRules.Builder().minDecimalPlaces(3).maxDecimalPlaces(40)
+            .maxFractionalPlaces(10).minValue(new BigDecimal("-1E38")).maxValue(new BigDecimal("1E38")).build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(0).maxValue(0).build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(new BigDecimal("99.99"))
+            .maxValue(new BigDecimal("100.01")).build());
+        rules.add(new BigDecimalValidationRules.Builder().maxDecimalPlaces(60).maxFractionalPlaces(12).maxPrecision(20)
+            .build());
+        rules.add(new BigDecimalValidationRules.Builder().numeric(10, 4).build());
+    }
+
+
+    @Test
+    public void validatesLikeBigDecimal() {
+
+        List<BigInteger> unscaledValues = new ArrayList<>();
+
+        for (int exponent = 0; exponent < 60; exponent++) {
+            BigInteger power = BigInteger.TEN.pow(exponent);
+            BigInteger powerOfTwo = BigInteger.ONE.shiftLeft(exponent * 2);
+
+            for (BigInteger value : new BigInteger[] { power, powerOfTwo }) {
+                unscaledValues.add(value);
+                unscaledValues.add(value.subtract(BigInteger.ONE));
+                unscaledValues.add(value.add(BigInteger.ONE));
+                unscaledValues.add(value.negate());
+                unscaledValues.add(value.negate().subtract(BigInteger.ONE));
+                unscaledValues.add(value.negate().add(BigInteger.ONE));
+            }
+        }
+
+        Random random = new Random(3);
+
+        for (int i = 0; i < 2000; i++) {
+            BigInteger value = new BigInteger(random.nextInt(200), random);
+            unscaledValues.add(random.nextBoolean() ? value : value.negate());
+        }
+
+        for (BigInteger unscaledValue : unscaledValues) {
+            for (int scale = -5; scale <= 12; scale++) {
+                BigDecimal bigDecimal = new BigDecimal(unscaledValue, scale);
+
+                for (BigDecimalValidationRules rule : rules) {
+                    BigDecimalValidationResult expected = sut.validate(bigDecimal, rule);
+                    BigDecimalValidationResult actual = sut.validate(unscaledValue.toByteArray(), scale, rule);
+
+                    assertThat(bigDecimal.toString(), actual.getFailMessage(), is(expected.getFailMessage()));
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void validatesSignExtendedValues() {
+
+        BigDecimalValidationRules rule = rules.get(1);
+
+        assertThat(sut.validate(new byte[] { 0, 0, 0, 100 }, 1, rule).isValid(), is(true));
+        assertThat(sut.validate(new byte[] { -1, -1, -1, -100 }, 1, rule).getFailMessage(),
+            is(BigDecimalValidator.TOO_SMALL));
+        assertThat(sut.validate(new byte[] { 0, 0, 0, 0 }, 2, rule).isValid(), is(true));
+    }
+
+
+    @Test
+    public void nullIsInvalid() {
+
+        assertThat(sut.validate(null, 0, rules.get(0)).getFailMessage(), is(BigDecimalValidator.NULL));
+    }
+
+
+    @Test
+    public void notifiesFailureListener() {
+
+        BigDecimalFailureSampler sampler = new BigDecimalFailureSampler(1);
+        sut = new BigDecimalValidator(true, sampler);
+
+        sut.validate(new byte[] { -1 }, 0, rules.get(1));
+
+        assertThat(sampler.getSamples().get(0).getFirst(), is(new BigDecimal("-1")));
+    }
+}
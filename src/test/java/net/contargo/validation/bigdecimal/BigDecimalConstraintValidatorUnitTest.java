@@ -11,6 +11,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.math.BigDecimal;
 
+import java.util.Locale;
+
 import javax.validation.ConstraintValidatorContext;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -52,7 +54,7 @@ public class BigDecimalConstraintValidatorUnitTest {
 
         result = new BigDecimalValidationResult();
 
-        sut = new BigDecimalConstraintValidator();
+        sut = new BigDecimalConstraintValidator(bigDecimalValidatorMock);
 
         when(constraintValidatorContextMock.buildConstraintViolationWithTemplate(any(String.class))).thenReturn(
             constraintViolationBuilderMock);
@@ -69,8 +71,6 @@ public class BigDecimalConstraintValidatorUnitTest {
 
         initializeValidationRules(1L, 10L, 2L, 0.00, 10.0);
 
-        sut.setBigDecimalValidator(bigDecimalValidatorMock);
-
         assertThat(sut.isValid(bigDecimal, constraintValidatorContextMock), is(true));
 
         verify(constraintValidatorContextMock, times(0)).disableDefaultConstraintViolation();
@@ -91,8 +91,6 @@ public class BigDecimalConstraintValidatorUnitTest {
 
         initializeValidationRules(1L, 10L, 2L, 0.00, 10.0);
 
-        sut.setBigDecimalValidator(bigDecimalValidatorMock);
-
         assertThat(sut.isValid(bigDecimal, constraintValidatorContextMock), is(false));
 
         verify(constraintValidatorContextMock).disableDefaultConstraintViolation();
@@ -101,6 +99,48 @@ public class BigDecimalConstraintValidatorUnitTest {
     }
 
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedSetterReplacesValidator() {
+
+        when(bigDecimalValidatorMock.validate(any(BigDecimal.class), any(BigDecimalValidationRules.class))).thenReturn(
+            result);
+
+        sut = new BigDecimalConstraintValidator();
+        sut.setBigDecimalValidator(bigDecimalValidatorMock);
+        initializeValidationRules(1L, 10L, 2L, 0.00, 10.0);
+
+        assertThat(sut.isValid(new BigDecimal("100.00"), constraintValidatorContextMock), is(true));
+
+        verify(bigDecimalValidatorMock).validate(any(BigDecimal.class), any(BigDecimalValidationRules.class));
+    }
+
+
+    @Test
+    public void isNotValidWithMessageTemplate() {
+
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ENGLISH);
+
+        try {
+            result.setFailMessage("{net.contargo.validation.bigdecimal.toobig}");
+
+            when(bigDecimalValidatorMock.validate(any(BigDecimal.class), any(BigDecimalValidationRules.class)))
+                .thenReturn(result);
+
+            initializeValidationRules(1L, 10L, 2L, 0.00, 10.0);
+
+            assertThat(sut.isValid(new BigDecimal("10.01"), constraintValidatorContextMock), is(false));
+
+            // the provider interpolates the template with the locale of the request, not the default locale
+            verify(constraintValidatorContextMock).buildConstraintViolationWithTemplate(
+                "{net.contargo.validation.bigdecimal.toobig}");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+
     @Test
     public void isNotValidWithoutconstraintValidatorContext() {
 
@@ -113,8 +153,6 @@ public class BigDecimalConstraintValidatorUnitTest {
 
         initializeValidationRules(1L, 10L, 2L, 0.00, 10.0);
 
-        sut.setBigDecimalValidator(bigDecimalValidatorMock);
-
         assertThat(sut.isValid(bigDecimal, null), is(false));
 
         verify(constraintValidatorContextMock, never()).disableDefaultConstraintViolation();
@@ -143,6 +181,7 @@ public class BigDecimalConstraintValidatorUnitTest {
         when(bigDecimalValidateMock.minDecimalPlaces()).thenReturn(minDecimalPlaces);
         when(bigDecimalValidateMock.maxDecimalPlaces()).thenReturn(maxDecimalPlaces);
         when(bigDecimalValidateMock.maxFractionalPlaces()).thenReturn(maxFractionalPlaces);
+        when(bigDecimalValidateMock.maxPrecision()).thenReturn(Long.MAX_VALUE);
         when(bigDecimalValidateMock.minValue()).thenReturn(min);
         when(bigDecimalValidateMock.maxValue()).thenReturn(max);
 
@@ -0,0 +1,107 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalCurrencyRulesTable BigDecimalCurrencyRulesTable}.
+ */
+public class BigDecimalCurrencyRulesTableUnitTest {
+
+    private BigDecimalValidationRules template;
+    private BigDecimalCurrencyRulesTable sut;
+
+    @Before
+    public void setUp() {
+
+        template = new BigDecimalValidationRules.Builder().minValue(0).maxValue(1000000).maxFractionalPlaces(4)
+            .build();
+
+        sut = new BigDecimalCurrencyRulesTable(template);
+    }
+
+
+    @Test
+    public void derivesFractionalPlacesFromCurrency() {
+
+        assertThat(sut.getRules("JPY").getMaxFractionalPlaces(), is(0L));
+        assertThat(sut.getRules("EUR").getMaxFractionalPlaces(), is(2L));
+        assertThat(sut.getRules("BHD").getMaxFractionalPlaces(), is(3L));
+        assertThat(sut.getRules("EUR").getMaxValue(), is(template.getMaxValue()));
+    }
+
+
+    @Test
+    public void currenciesWithoutFractionDigitsUseTemplate() {
+
+        assertThat(sut.getRules("XAU"), is(sameInstance(template)));
+    }
+
+
+    @Test
+    public void unknownCurrencies() {
+
+        assertThat(sut.getRules("ABC"), is(nullValue()));
+        assertThat(sut.getRules("eur"), is(nullValue()));
+        assertThat(sut.getRules("EURO"), is(nullValue()));
+        assertThat(sut.getRules(null), is(nullValue()));
+
+        assertThat(sut.validate(BigDecimal.ONE, "ABC").getFailMessage(),
+            is("{net.contargo.validation.bigdecimal.currencyunknown}"));
+    }
+
+
+    @Test
+    public void overridesReplaceDerivedRules() {
+
+        BigDecimalValidationRules override = new BigDecimalValidationRules.Builder().maxFractionalPlaces(5).build();
+
+        sut = new BigDecimalCurrencyRulesTable(template, Collections.singletonMap("EUR", override),
+                new BigDecimalValidator());
+
+        assertThat(sut.getRules("EUR"), is(sameInstance(override)));
+        assertThat(sut.getRules("USD").getMaxFractionalPlaces(), is(2L));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidOverride() {
+
+        new BigDecimalCurrencyRulesTable(template, Collections.singletonMap("EU", template), new BigDecimalValidator());
+    }
+
+
+    @Test
+    public void validatesPairs() {
+
+        BigDecimalValidationResult[] results = sut.validate(new BigDecimal[] {
+                    new BigDecimal("100"), new BigDecimal("100.5"), new BigDecimal("100.50"),
+                    new BigDecimal("100.505"), new BigDecimal("100.505"), new BigDecimal("1")
+                }, new String[] { "JPY", "JPY", "EUR", "EUR", "BHD", "ABC" });
+
+        assertThat(results[0].isValid(), is(true));
+        assertThat(results[1].getFailMessage(), is("{net.contargo.validation.bigdecimal.fractionaloutofrange}"));
+        assertThat(results[2].isValid(), is(true));
+        assertThat(results[3].getFailMessage(), is("{net.contargo.validation.bigdecimal.fractionaloutofrange}"));
+        assertThat(results[4].isValid(), is(true));
+        assertThat(results[5].getFailMessage(), is("{net.contargo.validation.bigdecimal.currencyunknown}"));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validatesPairsOnly() {
+
+        sut.validate(new BigDecimal[] { BigDecimal.ONE }, new String[0]);
+    }
+}
@@ -0,0 +1,252 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.lessThan;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalDigitProfileIndex BigDecimalDigitProfileIndex}.
+ */
+public class BigDecimalDigitProfileIndexUnitTest {
+
+    private BigDecimalValidator validator;
+    private List<BigDecimal> values;
+    private BigDecimalDigitProfileIndex sut;
+    private Random random;
+
+    @Before
+    public void setUp() {
+
+        validator = new BigDecimalValidator();
+        random = new Random(17);
+        values = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            values.add(new BigDecimal(new BigInteger(random.nextInt(50) + 1, random), random.nextInt(10) - 2).multiply(
+                    BigDecimal.valueOf(random.nextInt(4) == 0 ? -1 : 1)));
+        }
+
+        for (String value : new String[] { "0", "0.000", "0E+3", "100", "-100", "1.2E+5", "0.0012", "99.99" }) {
+            values.add(new BigDecimal(value));
+        }
+
+        values.add(null);
+
+        BigDecimalDigitProfileIndex.Builder builder = new BigDecimalDigitProfileIndex.Builder();
+
+        for (BigDecimal value : values) {
+            builder.add(value);
+        }
+
+        sut = builder.build();
+    }
+
+
+    @Test
+    public void evaluatesLikeValidator() {
+
+        for (BigDecimalValidationRules rules : randomRules(200)) {
+            BigDecimalDigitProfileIndex.Evaluation evaluation = sut.evaluate(rules);
+            BitSet invalid = evaluation.getInvalid();
+            BitSet valid = evaluation.getValid();
+
+            for (int id = 0; id < values.size(); id++) {
+                boolean expected = validator.validate(values.get(id), rules).isValid();
+
+                if (invalid.get(id) || valid.get(id)) {
+                    assertThat(String.valueOf(values.get(id)), valid.get(id), is(expected));
+                }
+            }
+
+            // only values in the bucket of a bound are undecided
+            assertThat(evaluation.getUndecided().cardinality(), lessThan(values.size() / 20));
+        }
+    }
+
+
+    @Test
+    public void validatesUndecidedValuesExactly() {
+
+        BigDecimalDigitProfileIndex.Values source = new BigDecimalDigitProfileIndex.Values() {
+
+            @Override
+            public BigDecimal get(int id) {
+
+                return values.get(id);
+            }
+        };
+
+        for (BigDecimalValidationRules rules : randomRules(50)) {
+            assertThat(sut.validate(rules, validator, source), is(invalid(rules)));
+        }
+    }
+
+
+    @Test
+    public void candidatesContainAllChangedVerdicts() {
+
+        List<BigDecimalValidationRules> rules = randomRules(60);
+
+        for (int i = 1; i < rules.size(); i++) {
+            BigDecimalValidationRules oldRules = rules.get(i - 1);
+            BigDecimalValidationRules newRules = new BigDecimalValidationRules.Builder(oldRules).maxValue(
+                    rules.get(i).getMaxValue().max(oldRules.getMinValue())).build();
+
+            BitSet changed = invalid(oldRules);
+            changed.xor(invalid(newRules));
+
+            BitSet candidates = sut.candidates(oldRules, newRules);
+            BitSet missing = (BitSet) changed.clone();
+            missing.andNot(candidates);
+
+            assertThat(missing.isEmpty(), is(true));
+        }
+    }
+
+
+    @Test
+    public void candidatesSkipValuesUndecidedByUnchangedBound() {
+
+        BigDecimalDigitProfileIndex.Builder builder = new BigDecimalDigitProfileIndex.Builder();
+        int nearMin = builder.add(new BigDecimal("1.27"));
+        int aboveOldMax = builder.add(new BigDecimal("120"));
+        int nearNewMax = builder.add(new BigDecimal("150.7"));
+        BigDecimalDigitProfileIndex index = builder.build();
+
+        BigDecimalValidationRules oldRules = new BigDecimalValidationRules.Builder().minValue(new BigDecimal("1.25"))
+            .maxValue(100).build();
+        BigDecimalValidationRules newRules = new BigDecimalValidationRules.Builder(oldRules).maxValue(
+                new BigDecimal("150.5")).build();
+
+        assertThat(index.evaluate(oldRules).getUndecided().get(nearMin), is(true));
+
+        BitSet candidates = index.candidates(oldRules, newRules);
+        assertThat(candidates.get(nearMin), is(false));
+        assertThat(candidates.get(aboveOldMax), is(true));
+        assertThat(candidates.get(nearNewMax), is(true));
+    }
+
+
+    @Test
+    public void candidatesContainAllChangedVerdictsOfUnrelatedRules() {
+
+        List<BigDecimalValidationRules> rules = randomRules(60);
+
+        for (int i = 1; i < rules.size(); i++) {
+            BitSet missing = invalid(rules.get(i - 1));
+            missing.xor(invalid(rules.get(i)));
+            missing.andNot(sut.candidates(rules.get(i - 1), rules.get(i)));
+
+            assertThat(missing.isEmpty(), is(true));
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateRejectsValidatorWithoutFractionalChecks() {
+
+        sut.validate(new BigDecimalValidationRules.Builder().build(), new BigDecimalValidator(false),
+            new BigDecimalDigitProfileIndex.Values() {
+
+                @Override
+                public BigDecimal get(int id) {
+
+                    return values.get(id);
+                }
+            });
+    }
+
+
+    @Test
+    public void readsWrittenProfiles() throws IOException {
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        sut.writeTo(output);
+
+        BigDecimalDigitProfileIndex read = BigDecimalDigitProfileIndex.readFrom(new ByteArrayInputStream(
+                    output.toByteArray()));
+
+        assertThat(read.size(), is(sut.size()));
+
+        for (BigDecimalValidationRules rules : randomRules(20)) {
+            assertThat(read.evaluate(rules).getInvalid(), is(sut.evaluate(rules).getInvalid()));
+            assertThat(read.evaluate(rules).getUndecided(), is(sut.evaluate(rules).getUndecided()));
+        }
+    }
+
+
+    @Test
+    public void readsConsecutiveProfilesOfOneStream() throws IOException {
+
+        BigDecimalDigitProfileIndex.Builder builder = new BigDecimalDigitProfileIndex.Builder();
+        builder.add(new BigDecimal("1.5"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        sut.writeTo(output);
+        builder.build().writeTo(output);
+        output.write(42);
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+
+        assertThat(BigDecimalDigitProfileIndex.readFrom(input).size(), is(sut.size()));
+        assertThat(BigDecimalDigitProfileIndex.readFrom(input).size(), is(1));
+        assertThat(input.read(), is(42));
+    }
+
+
+    @Test(expected = IOException.class)
+    public void rejectsUnknownFormat() throws IOException {
+
+        BigDecimalDigitProfileIndex.readFrom(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+
+
+    private BitSet invalid(BigDecimalValidationRules rules) {
+
+        BitSet invalid = new BitSet();
+
+        for (int id = 0; id < values.size(); id++) {
+            if (!validator.validate(values.get(id), rules).isValid()) {
+                invalid.set(id);
+            }
+        }
+
+        return invalid;
+    }
+
+
+    private List<BigDecimalValidationRules> randomRules(int count) {
+
+        List<BigDecimalValidationRules> rules = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            BigDecimal min = new BigDecimal(BigInteger.valueOf(random.nextInt(20000) - 10000), random.nextInt(5));
+            BigDecimal max = min.add(new BigDecimal(BigInteger.valueOf(random.nextInt(1000000)), random.nextInt(5)));
+
+            rules.add(new BigDecimalValidationRules.Builder().minDecimalPlaces(random.nextInt(3))
+                .maxDecimalPlaces(3 + random.nextInt(15)).maxFractionalPlaces(random.nextInt(8))
+                .maxPrecision(random.nextBoolean() ? Long.MAX_VALUE : 4 + random.nextInt(12)).minValue(min).maxValue(
+                    max).build());
+        }
+
+        return rules;
+    }
+}
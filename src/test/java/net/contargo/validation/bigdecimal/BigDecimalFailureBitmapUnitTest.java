@@ -0,0 +1,214 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.lessThan;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalFailureBitmap BigDecimalFailureBitmap}.
+ */
+public class BigDecimalFailureBitmapUnitTest {
+
+    private Random random;
+
+    @Before
+    public void setUp() {
+
+        random = new Random(41);
+    }
+
+
+    @Test
+    public void containsAddedRows() {
+
+        TreeSet<Long> rows = randomRows();
+        BigDecimalFailureBitmap sut = bitmap(rows);
+
+        assertRows(sut, rows);
+
+        sut.optimize();
+        assertRows(sut, rows);
+    }
+
+
+    @Test
+    public void addsRowsToOptimizedBitmap() {
+
+        TreeSet<Long> rows = randomRows();
+        BigDecimalFailureBitmap sut = bitmap(rows);
+        sut.optimize();
+
+        for (long row : randomRows()) {
+            sut.add(row);
+            rows.add(row);
+        }
+
+        assertRows(sut, rows);
+    }
+
+
+    @Test
+    public void choosesSmallestContainers() {
+
+        BigDecimalFailureBitmap sut = new BigDecimalFailureBitmap();
+
+        // few rows in block 0, a run in block 1, every second row in block 2
+        sut.add(3);
+        sut.add(40000);
+        sut.add(60000);
+
+        for (long row = 65536 + 100; row < 65536 + 30000; row++) {
+            sut.add(row);
+        }
+
+        for (long row = 2 * 65536; row < 3 * 65536; row += 2) {
+            sut.add(row);
+        }
+
+        sut.optimize();
+
+        assertThat(sut.containerTypes(), is(new byte[] { 0, 2, 1 }));
+        assertThat(sut.cardinality(), is(3L + 29900 + 32768));
+    }
+
+
+    @Test
+    public void combinesBitmaps() {
+
+        TreeSet<Long> rows = randomRows();
+        TreeSet<Long> otherRows = randomRows();
+        BigDecimalFailureBitmap bitmap = bitmap(rows);
+        BigDecimalFailureBitmap other = bitmap(otherRows);
+
+        if (random.nextBoolean()) {
+            other.optimize();
+        }
+
+        TreeSet<Long> union = new TreeSet<>(rows);
+        union.addAll(otherRows);
+
+        TreeSet<Long> intersection = new TreeSet<>(rows);
+        intersection.retainAll(otherRows);
+
+        assertRows(bitmap.or(other), union);
+        assertRows(bitmap.and(other), intersection);
+        assertRows(bitmap.and(bitmap), rows);
+        assertRows(bitmap, rows);
+    }
+
+
+    @Test
+    public void readsWrittenBitmap() throws IOException {
+
+        TreeSet<Long> rows = randomRows();
+        BigDecimalFailureBitmap sut = bitmap(rows);
+        sut.optimize();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sut.writeTo(new DataOutputStream(bytes));
+
+        BigDecimalFailureBitmap read = BigDecimalFailureBitmap.readFrom(new DataInputStream(
+                    new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(read, is(sut));
+        assertThat((long) bytes.size(), is(sut.serializedSize()));
+        assertRows(read, rows);
+    }
+
+
+    @Test
+    public void clusteredFailuresAreSmallerThanBitSet() {
+
+        BigDecimalFailureBitmap sut = new BigDecimalFailureBitmap();
+
+        // a billion rows with a broken range and a few scattered failures
+        for (long row = 500000000L; row < 500300000L; row++) {
+            sut.add(row);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            sut.add((long) (random.nextDouble() * 1000000000L));
+        }
+
+        sut.optimize();
+
+        assertThat(sut.serializedSize(), lessThan(1000000000L / 8 / 1000));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeRows() {
+
+        new BigDecimalFailureBitmap().add(-1);
+    }
+
+
+    private TreeSet<Long> randomRows() {
+
+        TreeSet<Long> rows = new TreeSet<>();
+
+        for (int cluster = 0; cluster < 20; cluster++) {
+            long start = (long) (random.nextDouble() * (1L << 34));
+            int length = random.nextInt(8) == 0 ? random.nextInt(200000) : random.nextInt(100);
+            int density = 1 + random.nextInt(3);
+
+            for (long row = start; row < start + length; row++) {
+                if (random.nextInt(density) == 0) {
+                    rows.add(row);
+                }
+            }
+        }
+
+        return rows;
+    }
+
+
+    private static BigDecimalFailureBitmap bitmap(TreeSet<Long> rows) {
+
+        BigDecimalFailureBitmap bitmap = new BigDecimalFailureBitmap();
+
+        for (long row : rows) {
+            bitmap.add(row);
+        }
+
+        return bitmap;
+    }
+
+
+    private void assertRows(BigDecimalFailureBitmap bitmap, TreeSet<Long> rows) {
+
+        assertThat(bitmap.cardinality(), is((long) rows.size()));
+
+        long row = bitmap.nextRow(0);
+
+        for (long expected : rows) {
+            assertThat(row, is(expected));
+            row = bitmap.nextRow(row + 1);
+        }
+
+        assertThat(row, is(-1L));
+
+        for (int i = 0; i < 1000; i++) {
+            long probe = (long) (random.nextDouble() * (1L << 34));
+            assertThat(bitmap.contains(probe), is(rows.contains(probe)));
+
+            Long next = rows.ceiling(probe);
+            assertThat(bitmap.nextRow(probe), is(next == null ? -1L : next));
+        }
+    }
+}
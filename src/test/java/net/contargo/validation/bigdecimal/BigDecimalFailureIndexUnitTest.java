@@ -0,0 +1,133 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.math.BigDecimal;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalFailureIndex BigDecimalFailureIndex}.
+ */
+public class BigDecimalFailureIndexUnitTest {
+
+    private BigDecimalValidator validator;
+    private BigDecimalValidationRules rules;
+    private BigDecimal[] values;
+
+    @Before
+    public void setUp() {
+
+        validator = new BigDecimalValidator();
+        rules = new BigDecimalValidationRules.Builder().minValue(0).maxValue(100).maxFractionalPlaces(2).build();
+        values = new BigDecimal[] {
+                new BigDecimal("1"), new BigDecimal("101"), new BigDecimal("-1"), new BigDecimal("1.234"),
+                new BigDecimal("50"), new BigDecimal("200")
+            };
+    }
+
+
+    @Test
+    public void indexesFailuresPerMessage() {
+
+        BigDecimalFailureIndex sut = new BigDecimalFailureIndex();
+
+        assertThat(sut.validate(validator, values, values.length, 5000000000L, rules), is(4));
+
+        assertThat(sut.getFailMessages(),
+            is((Object) new HashSet<>(
+                    Arrays.asList(BigDecimalValidator.TOO_BIG, BigDecimalValidator.TOO_SMALL,
+                        BigDecimalValidator.FRACTIONAL_OUT_OF_RANGE))));
+        assertThat(sut.get(BigDecimalValidator.TOO_BIG).contains(5000000001L), is(true));
+        assertThat(sut.get(BigDecimalValidator.TOO_BIG).contains(5000000005L), is(true));
+        assertThat(sut.get(BigDecimalValidator.TOO_BIG).cardinality(), is(2L));
+        assertThat(sut.get(BigDecimalValidator.TOO_SMALL).contains(5000000002L), is(true));
+        assertThat(sut.get(BigDecimalValidator.NULL).isEmpty(), is(true));
+        assertThat(sut.getAll().cardinality(), is(4L));
+        assertThat(sut.getAll().contains(5000000004L), is(false));
+    }
+
+
+    @Test
+    public void mergesIndexes() {
+
+        BigDecimalFailureIndex sut = new BigDecimalFailureIndex();
+        BigDecimalFailureIndex other = new BigDecimalFailureIndex();
+
+        sut.validate(validator, values, values.length, 0, rules);
+        other.validate(validator, values, values.length, 70000, rules);
+        other.add(6, BigDecimalValidator.NULL);
+
+        sut.merge(other);
+
+        assertThat(sut.getAll().cardinality(), is(9L));
+        assertThat(sut.get(BigDecimalValidator.TOO_BIG).and(other.get(BigDecimalValidator.TOO_BIG)).cardinality(),
+            is(2L));
+        assertThat(sut.get(BigDecimalValidator.NULL).contains(6), is(true));
+    }
+
+
+    @Test
+    public void readsWrittenIndex() throws IOException {
+
+        BigDecimalFailureIndex sut = new BigDecimalFailureIndex();
+
+        for (long row = 0; row < 1000000; row += values.length) {
+            sut.validate(validator, values, values.length, row, rules);
+        }
+
+        sut.optimize();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        sut.writeTo(output);
+
+        BigDecimalFailureIndex read = BigDecimalFailureIndex.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(read.getFailMessages(), is(sut.getFailMessages()));
+
+        for (String failMessage : sut.getFailMessages()) {
+            assertThat(read.get(failMessage), is(sut.get(failMessage)));
+        }
+    }
+
+
+    @Test
+    public void readsConsecutiveIndexesOfOneStream() throws IOException {
+
+        BigDecimalFailureIndex first = new BigDecimalFailureIndex();
+        first.validate(validator, values, values.length, 0, rules);
+
+        BigDecimalFailureIndex second = new BigDecimalFailureIndex();
+        second.add(1L << 40, BigDecimalValidator.NULL);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        first.writeTo(output);
+        second.writeTo(output);
+        output.write(42);
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+
+        assertThat(BigDecimalFailureIndex.readFrom(input).getAll(), is(first.getAll()));
+        assertThat(BigDecimalFailureIndex.readFrom(input).get(BigDecimalValidator.NULL).contains(1L << 40),
+            is(true));
+        assertThat(input.read(), is(42));
+    }
+
+
+    @Test(expected = IOException.class)
+    public void rejectsUnknownFormat() throws IOException {
+
+        BigDecimalFailureIndex.readFrom(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+}
@@ -0,0 +1,210 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalFailureSampler BigDecimalFailureSampler}.
+ */
+public class BigDecimalFailureSamplerUnitTest {
+
+    private BigDecimalFailureSampler sut;
+    private BigDecimalValidator validator;
+    private BigDecimalValidationRules rules;
+
+    @Before
+    public void setUp() {
+
+        sut = new BigDecimalFailureSampler(5);
+        validator = new BigDecimalValidator(true, sut);
+        rules = new BigDecimalValidationRules.Builder().minValue(0).maxValue(100).build();
+    }
+
+
+    @Test
+    public void validValuesAreNotSampled() {
+
+        validator.validate(new BigDecimal("10"), rules);
+
+        assertThat(sut.getSamples(), is(empty()));
+    }
+
+
+    @Test
+    public void samplesPerFailureMessage() {
+
+        for (int i = 1; i <= 100; i++) {
+            validator.validate(new BigDecimal(100 + i), rules);
+        }
+
+        validator.validate(new BigDecimal("-1"), rules);
+
+        List<BigDecimalFailureSampler.Sample> samples = sut.getSamples();
+        assertThat(samples, hasSize(2));
+
+        BigDecimalFailureSampler.Sample tooBig = find(samples, "{net.contargo.validation.bigdecimal.toobig}");
+        assertThat(tooBig.getRules(), is(sameInstance(rules)));
+        assertThat(tooBig.getCount(), is(100L));
+        assertThat(tooBig.getFirst(), is(new BigDecimal("101")));
+        assertThat(tooBig.getLast(), is(new BigDecimal("200")));
+        assertThat(tooBig.getValues(), hasSize(5));
+
+        for (BigDecimal value : tooBig.getValues()) {
+            assertThat(value.compareTo(new BigDecimal("100")), is(1));
+        }
+
+        BigDecimalFailureSampler.Sample tooSmall = find(samples, "{net.contargo.validation.bigdecimal.toosmall}");
+        assertThat(tooSmall.getCount(), is(1L));
+        assertThat(tooSmall.getValues(), hasSize(1));
+    }
+
+
+    @Test
+    public void samplesPerRuleSet() {
+
+        BigDecimalValidationRules otherRules = new BigDecimalValidationRules.Builder().maxValue(50).build();
+
+        validator.validate(new BigDecimal("150"), rules);
+        validator.validate(new BigDecimal("150"), otherRules);
+
+        assertThat(sut.getSamples(), hasSize(2));
+    }
+
+
+    @Test
+    public void mergesSamplesOfAllThreads() throws InterruptedException {
+
+        final int threads = 8;
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        for (int i = 0; i < 10000; i++) {
+                            validator.validate(new BigDecimal("1000"), rules);
+                        }
+
+                        done.countDown();
+                    }
+                }).start();
+        }
+
+        done.await();
+
+        List<BigDecimalFailureSampler.Sample> samples = sut.getSamples();
+        assertThat(samples, hasSize(1));
+        assertThat(samples.get(0).getCount(), is(80000L));
+        assertThat(samples.get(0).getValues().size(), lessThanOrEqualTo(5));
+    }
+
+
+    @Test
+    public void retainsBoundedCountOfRuleSets() {
+
+        BigDecimalFailureSampler bounded = new BigDecimalFailureSampler(5, 16);
+        BigDecimalValidator boundedValidator = new BigDecimalValidator(true, bounded);
+        BigDecimalValidationRules last = null;
+
+        // e.g. rules built per request
+        for (int i = 0; i < 10000; i++) {
+            last = new BigDecimalValidationRules.Builder().maxValue(100).build();
+            boundedValidator.validate(new BigDecimal("150"), last);
+        }
+
+        assertThat(bounded.retainedRuleSets(), is(16));
+
+        // the least recently failed rule sets are dropped
+        boolean sampled = false;
+
+        for (BigDecimalFailureSampler.Sample sample : bounded.getSamples()) {
+            sampled |= sample.getRules() == last;
+        }
+
+        assertThat(sampled, is(true));
+    }
+
+
+    @Test
+    public void mergesReservoirsOfFinishedThreads() throws InterruptedException {
+
+        BigDecimalFailureSampler bounded = new BigDecimalFailureSampler(5, 4);
+        final BigDecimalValidator boundedValidator = new BigDecimalValidator(true, bounded);
+
+        // e.g. a pool replacing its threads
+        for (int t = 0; t < 50; t++) {
+            final BigDecimalValidationRules threadRules = new BigDecimalValidationRules.Builder().maxValue(100)
+                .build();
+            Thread thread = new Thread(new Runnable() {
+
+                        @Override
+                        public void run() {
+
+                            boundedValidator.validate(new BigDecimal("150"), threadRules);
+                            boundedValidator.validate(new BigDecimal("150"), rules);
+                        }
+                    });
+            thread.start();
+            thread.join();
+        }
+
+        List<BigDecimalFailureSampler.Sample> samples = bounded.getSamples();
+        assertThat(samples, hasSize(4));
+        assertThat(bounded.retainedRuleSets(), is(4));
+
+        // the shared rules failed most recently in every thread, so they were never dropped
+        long count = 0;
+
+        for (BigDecimalFailureSampler.Sample sample : samples) {
+            if (sample.getRules() == rules) {
+                count = sample.getCount();
+            }
+        }
+
+        assertThat(count, is(50L));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxRuleSetsIsPositive() {
+
+        new BigDecimalFailureSampler(5, 0);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reservoirSizeIsPositive() {
+
+        new BigDecimalFailureSampler(0);
+    }
+
+
+    private static BigDecimalFailureSampler.Sample find(List<BigDecimalFailureSampler.Sample> samples,
+        String failMessage) {
+
+        for (BigDecimalFailureSampler.Sample sample : samples) {
+            if (sample.getFailMessage().equals(failMessage)) {
+                return sample;
+            }
+        }
+
+        throw new AssertionError("no sample for " + failMessage);
+    }
+}
@@ -0,0 +1,109 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalRulesClassifier BigDecimalRulesClassifier}.
+ */
+public class BigDecimalRulesClassifierUnitTest {
+
+    private BigDecimalValidator validator;
+    private List<BigDecimalValidationRules> rules;
+
+    @Before
+    public void setUp() {
+
+        validator = new BigDecimalValidator();
+
+        rules = Arrays.asList(new BigDecimalValidationRules.Builder().minValue(0).maxValue(100).build(),
+                new BigDecimalValidationRules.Builder().minValue(100).maxValue(1000).build(),
+                new BigDecimalValidationRules.Builder().minValue(0).maxValue(1000).maxFractionalPlaces(0).build(),
+                new BigDecimalValidationRules.Builder().minDecimalPlaces(3).maxDecimalPlaces(4).build());
+    }
+
+
+    @Test
+    public void classifiesByBounds() {
+
+        assertThat(new BigDecimalRulesClassifier(rules).classify(new BigDecimal("50.5")), is(bits(0)));
+        assertThat(new BigDecimalRulesClassifier(rules).classify(new BigDecimal("100")), is(bits(0, 1, 2, 3)));
+        assertThat(new BigDecimalRulesClassifier(rules).classify(new BigDecimal("100.01")), is(bits(1, 3)));
+        assertThat(new BigDecimalRulesClassifier(rules).classify(new BigDecimal("1E3")), is(bits(1, 2, 3)));
+        assertThat(new BigDecimalRulesClassifier(rules).classify(new BigDecimal("-1")), is(bits()));
+    }
+
+
+    @Test
+    public void nullIsAcceptedByNoRules() {
+
+        assertThat(new BigDecimalRulesClassifier(rules).classify(null), is(bits()));
+    }
+
+
+    @Test
+    public void classifiesLikeValidator() {
+
+        Random random = new Random(42);
+        List<BigDecimalValidationRules> randomRules = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            BigDecimal min = randomDecimal(random);
+            BigDecimal max = min.add(randomDecimal(random).abs());
+
+            randomRules.add(new BigDecimalValidationRules.Builder().minDecimalPlaces(random.nextInt(4))
+                .maxDecimalPlaces(random.nextInt(100) < 5 ? Long.MAX_VALUE : random.nextInt(80))
+                .maxFractionalPlaces(random.nextInt(6)).maxPrecision(
+                    random.nextInt(3) == 0 ? random.nextInt(90) : Long.MAX_VALUE).minValue(min).maxValue(max).build());
+        }
+
+        BigDecimalRulesClassifier sut = new BigDecimalRulesClassifier(randomRules);
+
+        for (int i = 0; i < 2000; i++) {
+            BigDecimal value = randomDecimal(random);
+
+            BitSet expected = new BitSet();
+
+            for (int id = 0; id < randomRules.size(); id++) {
+                if (validator.validate(value, randomRules.get(id)).isValid()) {
+                    expected.set(id);
+                }
+            }
+
+            assertThat(value.toString(), sut.classify(value), is(expected));
+        }
+    }
+
+
+    private static BigDecimal randomDecimal(Random random) {
+
+        return new BigDecimal(new BigInteger(random.nextInt(280) + 1, random), random.nextInt(10) - 3).multiply(
+                BigDecimal.valueOf(random.nextBoolean() ? 1 : -1));
+    }
+
+
+    private static BitSet bits(int... ids) {
+
+        BitSet bits = new BitSet();
+
+        for (int id : ids) {
+            bits.set(id);
+        }
+
+        return bits;
+    }
+}
@@ -0,0 +1,223 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalShardResult BigDecimalShardResult}.
+ */
+public class BigDecimalShardResultUnitTest {
+
+    private static final int ROWS = 30000;
+    private static final int SHARDS = 3;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BigDecimalValidator validator;
+    private BigDecimalValidationRules rules;
+    private BigDecimal[] values;
+
+    @Before
+    public void setUp() {
+
+        validator = new BigDecimalValidator();
+        rules = new BigDecimalValidationRules.Builder().maxDecimalPlaces(6).maxFractionalPlaces(2).minValue(-1000)
+            .maxValue(100000).build();
+
+        Random random = new Random(42);
+        values = new BigDecimal[ROWS];
+
+        for (int i = 0; i < ROWS; i++) {
+            values[i] = random.nextInt(500) == 0
+                ? null : new BigDecimal(BigInteger.valueOf(random.nextInt(20000000) - 100000), random.nextInt(4));
+        }
+    }
+
+
+    @Test
+    public void mergedShardsEqualSingleRun() {
+
+        BigDecimalShardResult single = new BigDecimalShardResult();
+        single.validate(validator, values, ROWS, 0, rules);
+
+        List<BigDecimalShardResult> shards = new ArrayList<>();
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int first = shard * ROWS / SHARDS;
+            int count = (shard + 1) * ROWS / SHARDS - first;
+
+            BigDecimalShardResult result = new BigDecimalShardResult();
+            result.validate(validator, copy(first, count), count, first, rules);
+            shards.add(result);
+        }
+
+        // the merge order does not matter
+        Collections.shuffle(shards, new Random(1));
+
+        BigDecimalShardResult merged = new BigDecimalShardResult();
+
+        for (BigDecimalShardResult shard : shards) {
+            merged.merge(shard);
+        }
+
+        assertEqual(merged, single);
+        assertThat(single.getRowCount(), is((long) ROWS));
+        assertThat(single.getFailureCount(BigDecimalValidator.NULL) > 0, is(true));
+        assertThat(single.getFailureCount(BigDecimalValidator.TOO_BIG) > 0, is(true));
+    }
+
+
+    @Test
+    public void readsWrittenResult() throws IOException {
+
+        BigDecimalShardResult sut = new BigDecimalShardResult();
+        sut.validate(validator, values, ROWS, 1L << 40, rules);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        sut.writeTo(output);
+
+        assertEqual(BigDecimalShardResult.readFrom(new ByteArrayInputStream(output.toByteArray())), sut);
+    }
+
+
+    @Test
+    public void readsConsecutiveResultsOfOneStream() throws IOException {
+
+        BigDecimalShardResult first = new BigDecimalShardResult();
+        first.validate(validator, copy(0, 1000), 1000, 0, rules);
+
+        BigDecimalShardResult second = new BigDecimalShardResult();
+        second.validate(validator, copy(1000, 2000), 2000, 1000, rules);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        first.writeTo(output);
+        second.writeTo(output);
+        output.write(42);
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+
+        assertEqual(BigDecimalShardResult.readFrom(input), first);
+        assertEqual(BigDecimalShardResult.readFrom(input), second);
+        assertThat(input.read(), is(42));
+    }
+
+
+    @Test
+    public void emptyResultHasNoBounds() throws IOException {
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BigDecimalShardResult().writeTo(output);
+
+        BigDecimalShardResult read = BigDecimalShardResult.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(read.getRowCount(), is(0L));
+        assertThat(read.getMinValue(), is(nullValue()));
+        assertThat(read.getSum(), is(BigDecimal.ZERO));
+    }
+
+
+    @Test
+    public void validatesShardsInWorkerProcesses() throws IOException, InterruptedException {
+
+        File rulesFile = temporaryFolder.newFile("rules.bin");
+
+        try(OutputStream output = new FileOutputStream(rulesFile)) {
+            BigDecimalValidationRulesCodec.write(Collections.singletonMap("amount", rules), output);
+        }
+
+        File valuesFile = temporaryFolder.newFile("values.txt");
+
+        try(Writer writer = Files.newBufferedWriter(valuesFile.toPath(), StandardCharsets.US_ASCII)) {
+            for (BigDecimal value : values) {
+                writer.write(value == null ? "" : value.toString());
+                writer.write('\n');
+            }
+        }
+
+        List<Process> workers = new ArrayList<>();
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int first = shard * ROWS / SHARDS;
+            int count = (shard + 1) * ROWS / SHARDS - first;
+
+            workers.add(new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(), "-cp",
+                    System.getProperty("java.class.path"), BigDecimalShardWorker.class.getName(),
+                    rulesFile.getPath(), "amount", valuesFile.getPath(), String.valueOf(first), String.valueOf(count))
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start());
+        }
+
+        // the workers write their results to a pipe
+        BigDecimalShardResult merged = new BigDecimalShardResult();
+
+        for (Process worker : workers) {
+            merged.merge(BigDecimalShardResult.readFrom(worker.getInputStream()));
+            assertThat(worker.waitFor(), is(0));
+        }
+
+        BigDecimalShardResult single = new BigDecimalShardResult();
+        single.validate(validator, values, ROWS, 0, rules);
+
+        assertEqual(merged, single);
+    }
+
+
+    @Test(expected = IOException.class)
+    public void rejectsUnknownFormat() throws IOException {
+
+        BigDecimalShardResult.readFrom(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+
+
+    private BigDecimal[] copy(int first, int count) {
+
+        BigDecimal[] copy = new BigDecimal[count];
+        System.arraycopy(values, first, copy, 0, count);
+
+        return copy;
+    }
+
+
+    private static void assertEqual(BigDecimalShardResult actual, BigDecimalShardResult expected) {
+
+        assertThat(actual.getRowCount(), is(expected.getRowCount()));
+        assertThat(actual.getInvalidCount(), is(expected.getInvalidCount()));
+        assertThat(actual.getMinValue(), is(expected.getMinValue()));
+        assertThat(actual.getMaxValue(), is(expected.getMaxValue()));
+        assertThat(actual.getSum(), is(expected.getSum()));
+        assertThat(actual.getFailures().getFailMessages(), is(expected.getFailures().getFailMessages()));
+
+        for (String failMessage : expected.getFailures().getFailMessages()) {
+            assertThat(actual.getFailures().get(failMessage), is(expected.getFailures().get(failMessage)));
+            assertThat(actual.getFailureCount(failMessage), is(expected.getFailureCount(failMessage)));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.math.BigDecimal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import java.util.Map;
+
+
+/**
+ * Worker process of a sharded validation run, started by
+ * {@link net.contargo.validation.bigdecimal.BigDecimalShardResultUnitTest BigDecimalShardResultUnitTest}.
+ *
+ * <p>Reads the rules written by {@link net.contargo.validation.bigdecimal.BigDecimalValidationRulesCodec
+ * BigDecimalValidationRulesCodec}, validates its shard of a file with one value per line and writes its
+ * {@link net.contargo.validation.bigdecimal.BigDecimalShardResult BigDecimalShardResult} to the standard output:
+ * <code>java -cp ... net.contargo.validation.bigdecimal.BigDecimalShardWorker rulesFile ruleName valuesFile
+ * firstRow rowCount</code>.</p>
+ */
+public final class BigDecimalShardWorker {
+
+    private static final int BATCH = 1024;
+
+    private BigDecimalShardWorker() {
+
+        // main only
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        Map<String, BigDecimalValidationRules> rules;
+
+        try(InputStream input = new FileInputStream(args[0])) {
+            rules = BigDecimalValidationRulesCodec.read(input);
+        }
+
+        BigDecimalValidationRules shardRules = rules.get(args[1]);
+        long firstRow = Long.parseLong(args[3]);
+        long rowCount = Long.parseLong(args[4]);
+
+        BigDecimalValidator validator = new BigDecimalValidator();
+        BigDecimalShardResult result = new BigDecimalShardResult();
+        BigDecimal[] batch = new BigDecimal[BATCH];
+        int count = 0;
+        long batchRow = firstRow;
+
+        try(BufferedReader reader = Files.newBufferedReader(Paths.get(args[2]), StandardCharsets.US_ASCII)) {
+            for (long row = 0; row < firstRow; row++) {
+                reader.readLine();
+            }
+
+            for (long row = 0; row < rowCount; row++) {
+                String line = reader.readLine();
+                batch[count++] = line.isEmpty() ? null : new BigDecimal(line);
+
+                if (count == BATCH) {
+                    result.validate(validator, batch, count, batchRow, shardRules);
+                    batchRow += count;
+                    count = 0;
+                }
+            }
+        }
+
+        result.validate(validator, batch, count, batchRow, shardRules);
+        result.writeTo(System.out);
+        System.out.flush();
+    }
+}
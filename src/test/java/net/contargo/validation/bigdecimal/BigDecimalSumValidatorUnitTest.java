@@ -0,0 +1,164 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.comparesEqualTo;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalSumValidator BigDecimalSumValidator} and
+ * {@link net.contargo.validation.bigdecimal.BigDecimalSumAccumulator BigDecimalSumAccumulator}.
+ */
+public class BigDecimalSumValidatorUnitTest {
+
+    private BigDecimalSumValidator sut;
+
+    @Before
+    public void setUp() {
+
+        sut = new BigDecimalSumValidator(new BigDecimalValidator(),
+                new BigDecimalValidationRules.Builder().minValue(0).maxFractionalPlaces(2).build(), 2);
+    }
+
+
+    @Test
+    public void sumEqualsTotal() {
+
+        assertThat(sut.validateLine(new BigDecimal("10.10")).isValid(), is(true));
+        assertThat(sut.validateLine(new BigDecimal("5")).isValid(), is(true));
+        assertThat(sut.validateLine(new BigDecimal("0.05")).isValid(), is(true));
+
+        assertThat(sut.validateTotal(new BigDecimal("15.15")).isValid(), is(true));
+        assertThat(sut.validateTotal(new BigDecimal("15.150")).isValid(), is(true));
+        assertThat(sut.getSum(), is(new BigDecimal("15.15")));
+        assertThat(sut.getCount(), is(3L));
+    }
+
+
+    @Test
+    public void sumDoesNotEqualTotal() {
+
+        sut.validateLine(new BigDecimal("10.10"));
+        sut.validateLine(new BigDecimal("5.01"));
+
+        assertThat(sut.validateTotal(new BigDecimal("15.10")).getFailMessage(),
+            is("{net.contargo.validation.bigdecimal.sumnotequal}"));
+    }
+
+
+    @Test
+    public void totalIsRequired() {
+
+        assertThat(sut.validateTotal(null).getFailMessage(), is("{net.contargo.validation.bigdecimal.null}"));
+    }
+
+
+    @Test
+    public void invalidLinesAreSummedAndReported() {
+
+        BigDecimalValidationResult result = sut.validateLine(new BigDecimal("-1.005"));
+
+        assertThat(result.getFailMessage(), is("{net.contargo.validation.bigdecimal.fractionaloutofrange}"));
+        assertThat(sut.getSum(), comparesEqualTo(new BigDecimal("-1.005")));
+    }
+
+
+    @Test
+    public void nullLinesAreNotSummed() {
+
+        assertThat(sut.validateLine(null).isValid(), is(false));
+        assertThat(sut.getCount(), is(0L));
+    }
+
+
+    @Test
+    public void comparesRoundedToFractionalPlaces() {
+
+        sut.validateLine(new BigDecimal("0.333"));
+        sut.validateLine(new BigDecimal("0.333"));
+
+        assertThat(sut.validateTotal(new BigDecimal("0.67")).isValid(), is(true));
+        assertThat(sut.validateTotal(new BigDecimal("0.666")).isValid(), is(true));
+        assertThat(sut.validateTotal(new BigDecimal("0.66")).isValid(), is(false));
+    }
+
+
+    @Test
+    public void accumulatorPromotesOnOverflow() {
+
+        BigDecimalSumAccumulator accumulator = new BigDecimalSumAccumulator(2);
+        BigDecimal value = new BigDecimal("9999999999999999.99");
+
+        // nine times fit a long, the tenth overflows
+        for (int i = 0; i < 9; i++) {
+            accumulator.add(value);
+        }
+
+        assertThat(accumulator.isPromoted(), is(false));
+
+        accumulator.add(value);
+        assertThat(accumulator.isPromoted(), is(true));
+
+        assertThat(accumulator.getSum(), comparesEqualTo(value.multiply(BigDecimal.TEN)));
+    }
+
+
+    @Test
+    public void accumulatorPromotesOnMoreThanEighteenDigits() {
+
+        BigDecimalSumAccumulator accumulator = new BigDecimalSumAccumulator(2);
+
+        accumulator.add(new BigDecimal(Long.MAX_VALUE / 100 + ".00"));
+
+        assertThat(accumulator.isPromoted(), is(true));
+        assertThat(accumulator.getSum(), comparesEqualTo(BigDecimal.valueOf(Long.MAX_VALUE / 100)));
+    }
+
+
+    @Test
+    public void accumulatorPromotesOnGreaterScale() {
+
+        BigDecimalSumAccumulator accumulator = new BigDecimalSumAccumulator(2);
+
+        accumulator.add(new BigDecimal("1.25"));
+        accumulator.add(new BigDecimal("1E-30"));
+
+        assertThat(accumulator.isPromoted(), is(true));
+        assertThat(accumulator.getSum(), is(new BigDecimal("1.250000000000000000000000000001")));
+    }
+
+
+    @Test
+    public void accumulatorIsExact() {
+
+        Random random = new Random(7);
+        BigDecimalSumAccumulator accumulator = new BigDecimalSumAccumulator(3);
+        BigDecimal expected = BigDecimal.ZERO;
+
+        for (int i = 0; i < 100000; i++) {
+            BigDecimal value = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(6) - 2);
+
+            accumulator.add(value);
+            expected = expected.add(value);
+        }
+
+        assertThat(accumulator.getSum(), comparesEqualTo(expected));
+        assertThat(accumulator.getCount(), is(100000L));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void accumulatorScaleIsLimited() {
+
+        new BigDecimalSumAccumulator(BigDecimalSumAccumulator.MAX_SCALE + 1);
+    }
+}
@@ -0,0 +1,139 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Random;
+
+
+/**
+ * Compares the throughput of {@link net.contargo.validation.bigdecimal.BigDecimalTextValidator
+ * BigDecimalTextValidator} counting digits word by word, character by character and by parsing every field to a
+ * BigDecimal.
+ *
+ * <p>A synthetic CSV block of 64 MB is validated repeatedly until the given amount of text is processed. Run it
+ * from the IDE or with <code>java -cp ... net.contargo.validation.bigdecimal.BigDecimalTextValidatorBenchmark
+ * [gigabytes]</code>, it is not part of the unit tests.</p>
+ */
+public final class BigDecimalTextValidatorBenchmark {
+
+    private static final int BLOCK_SIZE = 64 * 1024 * 1024;
+
+    private BigDecimalTextValidatorBenchmark() {
+
+        // main only
+    }
+
+    public static void main(String[] args) {
+
+        double gigabytes = args.length > 0 ? Double.parseDouble(args[0]) : 4;
+        long total = (long) (gigabytes * 1024 * 1024 * 1024);
+
+        byte[] text = new byte[BLOCK_SIZE];
+        int[] offsets = new int[BLOCK_SIZE / 2];
+        int[] lengths = new int[BLOCK_SIZE / 2];
+        int count = fill(text, offsets, lengths, new Random(13));
+        String[] failMessages = new String[count];
+
+        BigDecimalValidator validator = new BigDecimalValidator();
+        BigDecimalValidationRules rules = new BigDecimalValidationRules.Builder().minDecimalPlaces(1)
+            .maxDecimalPlaces(12).maxFractionalPlaces(4).minValue(-1000000).maxValue(1000000000).build();
+
+        BigDecimalTextValidator wordwise = new BigDecimalTextValidator(validator);
+        BigDecimalTextValidator bytewise = new BigDecimalTextValidator(validator, false);
+
+        // warm up
+        wordwise.validate(text, offsets, lengths, count, rules, failMessages);
+        bytewise.validate(text, offsets, lengths, count, rules, failMessages);
+
+        System.out.println(String.format("%d fields of %d bytes per block, %.1f GB per run", count, BLOCK_SIZE,
+                gigabytes));
+
+        long start = System.nanoTime();
+        long invalid = 0;
+
+        for (long processed = 0; processed < total; processed += BLOCK_SIZE) {
+            invalid += wordwise.validate(text, offsets, lengths, count, rules, failMessages);
+        }
+
+        report("wordwise", start, total, invalid);
+
+        start = System.nanoTime();
+        invalid = 0;
+
+        for (long processed = 0; processed < total; processed += BLOCK_SIZE) {
+            invalid += bytewise.validate(text, offsets, lengths, count, rules, failMessages);
+        }
+
+        report("bytewise", start, total, invalid);
+
+        // parsing every field is much slower, a single block is enough to compare
+        start = System.nanoTime();
+        invalid = 0;
+
+        for (int i = 0; i < count; i++) {
+            BigDecimal value = new BigDecimal(new String(text, offsets[i], lengths[i], StandardCharsets.US_ASCII));
+
+            if (!validator.validate(value, rules).isValid()) {
+                invalid++;
+            }
+        }
+
+        report("BigDecimal", start, BLOCK_SIZE, invalid);
+    }
+
+
+    private static int fill(byte[] text, int[] offsets, int[] lengths, Random random) {
+
+        int position = 0;
+        int count = 0;
+
+        while (true) {
+            StringBuilder field = new StringBuilder();
+
+            if (random.nextInt(10) == 0) {
+                field.append('-');
+            }
+
+            int integerDigits = 1 + random.nextInt(14);
+
+            for (int i = 0; i < integerDigits; i++) {
+                field.append((char) ('0' + random.nextInt(10)));
+            }
+
+            int fractionDigits = random.nextInt(6);
+
+            if (fractionDigits > 0) {
+                field.append('.');
+
+                for (int i = 0; i < fractionDigits; i++) {
+                    field.append((char) ('0' + random.nextInt(10)));
+                }
+            }
+
+            byte[] bytes = field.toString().getBytes(StandardCharsets.US_ASCII);
+
+            if (position + bytes.length + 1 > text.length) {
+                return count;
+            }
+
+            System.arraycopy(bytes, 0, text, position, bytes.length);
+            offsets[count] = position;
+            lengths[count] = bytes.length;
+            count++;
+
+            position += bytes.length;
+            text[position++] = ';';
+        }
+    }
+
+
+    private static void report(String name, long start, long bytes, long invalid) {
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(String.format("%-10s %8.1f MB/s  %d invalid", name, bytes / seconds / 1024 / 1024,
+                invalid));
+    }
+}
@@ -0,0 +1,174 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalTextValidator BigDecimalTextValidator}.
+ */
+public class BigDecimalTextValidatorUnitTest {
+
+    private BigDecimalValidator validator;
+    private List<BigDecimalValidationRules> rules;
+
+    @Before
+    public void setUp() {
+
+        validator = new BigDecimalValidator();
+
+        rules = new ArrayList<>();
+        rules.add(new BigDecimalValidationRules.Builder().build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(0).maxValue(1000).maxDecimalPlaces(4).build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(-1000).maxValue(-10).maxFractionalPlaces(3)
+            .build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(0.5).maxValue(0.75).maxFractionalPlaces(5)
+            .build());
+        rules.add(new BigDecimalValidationRules.Builder().minDecimalPlaces(3).maxDecimalPlaces(40)
+            .maxFractionalPlaces(20).minValue(new BigDecimal("-1E38")).maxValue(new BigDecimal("1E38")).build());
+        rules.add(new BigDecimalValidationRules.Builder().minValue(0).maxValue(0).build());
+        rules.add(new BigDecimalValidationRules.Builder().maxDecimalPlaces(30).maxFractionalPlaces(12).maxPrecision(
+                9).build());
+        rules.add(new BigDecimalValidationRules.Builder().numeric(10, 4).build());
+    }
+
+
+    @Test
+    public void validatesLikeBigDecimal() {
+
+        List<String> fields = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 3000; i++) {
+            BigDecimal value = new BigDecimal(new BigInteger(random.nextInt(120), random), random.nextInt(20) - 2);
+            String field = random.nextBoolean() ? value.toPlainString() : value.negate().toPlainString();
+
+            // leading zeros and signs
+            switch (random.nextInt(4)) {
+                case 0:
+                    field = field.startsWith("-") ? "-000" + field.substring(1) : "000" + field;
+                    break;
+
+                case 1:
+                    field = field.startsWith("-") ? field : "+" + field;
+                    break;
+
+                default:
+                    break;
+            }
+
+            fields.add(field);
+        }
+
+        for (String field : new String[] {
+                    "0", "-0", "+0", "0.000", "-0.00", ".5", "-.5", "5.", "0.05", "00.00100", "1E5", "1.5e-3", "-1E+40",
+                    "999.99", "1000", "-10", "-10.0001", "0.75", "0.750000", "12345678901234567890.1234567890"
+                }) {
+            fields.add(field);
+        }
+
+        BigDecimalTextValidator wordwise = new BigDecimalTextValidator(validator);
+        BigDecimalTextValidator bytewise = new BigDecimalTextValidator(validator, false);
+
+        for (String field : fields) {
+            // padding behind the field must not count as digits
+            byte[] text = ("  " + field + "11111111").getBytes(StandardCharsets.US_ASCII);
+            byte[] exact = field.getBytes(StandardCharsets.US_ASCII);
+
+            for (BigDecimalValidationRules rule : rules) {
+                String expected = validator.validate(new BigDecimal(field), rule).getFailMessage();
+
+                assertThat(field, wordwise.validate(text, 2, field.length(), rule).getFailMessage(), is(expected));
+                assertThat(field, wordwise.validate(exact, 0, exact.length, rule).getFailMessage(), is(expected));
+                assertThat(field, bytewise.validate(text, 2, field.length(), rule).getFailMessage(), is(expected));
+            }
+        }
+    }
+
+
+    @Test
+    public void invalidFieldsAreNotANumber() {
+
+        BigDecimalTextValidator sut = new BigDecimalTextValidator(validator);
+
+        for (String field : new String[] {
+                    "", "-", "+", ".", "-.", "1.2.3", "12a", " 12", "12 ", "1,5", "1e", "e5", "+-1", "1234567ä"
+                }) {
+            byte[] text = field.getBytes(StandardCharsets.UTF_8);
+
+            assertThat(field, sut.validate(text, 0, text.length, rules.get(0)).getFailMessage(),
+                is(BigDecimalTextValidator.NOT_A_NUMBER));
+        }
+    }
+
+
+    @Test
+    public void validatesBatch() {
+
+        BigDecimalTextValidator sut = new BigDecimalTextValidator(validator);
+        byte[] text = "12.5;abc;1000.01;-3;7".getBytes(StandardCharsets.US_ASCII);
+        String[] failMessages = new String[5];
+
+        int invalid = sut.validate(text, new int[] { 0, 5, 9, 17, 20 }, new int[] { 4, 3, 7, 2, 1 }, 5, rules.get(1),
+                failMessages);
+
+        assertThat(invalid, is(3));
+        assertThat(failMessages[0], is(nullValue()));
+        assertThat(failMessages[1], is(BigDecimalTextValidator.NOT_A_NUMBER));
+        assertThat(failMessages[2], is(BigDecimalValidator.TOO_BIG));
+        assertThat(failMessages[3], is(BigDecimalValidator.TOO_SMALL));
+        assertThat(failMessages[4], is(nullValue()));
+    }
+
+
+    @Test
+    public void marksDigitsAndZerosOfWord() {
+
+        long word = littleEndian("0a9/:0 5");
+
+        assertThat(BigDecimalTextValidator.nonDigits(word), is(littleEndianMask(false, true, false, true, true, false,
+                    true, false)));
+        assertThat(BigDecimalTextValidator.zeros(word), is(littleEndianMask(true, false, false, false, false, true,
+                    false, false)));
+    }
+
+
+    private static long littleEndian(String characters) {
+
+        long word = 0;
+
+        for (int i = 7; i >= 0; i--) {
+            word = (word << 8) | characters.charAt(i);
+        }
+
+        return word;
+    }
+
+
+    private static long littleEndianMask(boolean... marked) {
+
+        long mask = 0;
+
+        for (int i = 0; i < marked.length; i++) {
+            if (marked[i]) {
+                mask |= 0x80L << (i * 8);
+            }
+        }
+
+        return mask;
+    }
+}
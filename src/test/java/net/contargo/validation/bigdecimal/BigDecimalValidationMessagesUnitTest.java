@@ -0,0 +1,91 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.Locale;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalValidationMessages BigDecimalValidationMessages}.
+ */
+public class BigDecimalValidationMessagesUnitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BigDecimalValidationMessages sut;
+
+    @Before
+    public void setUp() {
+
+        sut = new BigDecimalValidationMessages(new BigDecimalValidationRules.Builder().minDecimalPlaces(1)
+                .maxDecimalPlaces(3).maxFractionalPlaces(2).minValue(0.5).maxValue(500.25).build());
+    }
+
+
+    @Test
+    public void resolvesMessagesWithRuleParameters() {
+
+        assertThat(sut.resolve("{net.contargo.validation.bigdecimal.toobig}", Locale.ENGLISH),
+            is("Has to be less than or equal to 500.25."));
+        assertThat(sut.resolve("{net.contargo.validation.bigdecimal.toosmall}", Locale.ENGLISH),
+            is("Has to be more than or equal to 0.5."));
+        assertThat(sut.resolve("{net.contargo.validation.bigdecimal.decimaloutofrange}", Locale.ENGLISH),
+            is("The count of the digits before the point is out of range. It should be in the range 1 - 3."));
+        assertThat(sut.resolve("{net.contargo.validation.bigdecimal.fractionaloutofrange}", Locale.GERMAN),
+            is("Zu viele Nachkommastellen. Es sollten maximal 2 sein."));
+    }
+
+
+    @Test
+    public void resolvesOncePerLocale() {
+
+        String first = sut.resolve("{net.contargo.validation.bigdecimal.toobig}", Locale.ENGLISH);
+        String second = sut.resolve("{net.contargo.validation.bigdecimal.toobig}", Locale.ENGLISH);
+
+        assertThat(second, is(sameInstance(first)));
+    }
+
+
+    @Test
+    public void resolvesFromBundleOfGivenClassLoader() throws IOException {
+
+        File folder = temporaryFolder.newFolder();
+        Files.write(new File(folder, "ValidationMessages.properties").toPath(),
+            "net.contargo.validation.bigdecimal.toobig=At most {maxValue}!\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        try(URLClassLoader classLoader = new URLClassLoader(new URL[] { folder.toURI().toURL() }, null)) {
+            sut = new BigDecimalValidationMessages(new BigDecimalValidationRules.Builder().maxValue(7).build(),
+                    classLoader);
+
+            assertThat(sut.resolve("{net.contargo.validation.bigdecimal.toobig}", Locale.ENGLISH), is("At most 7.0!"));
+        }
+    }
+
+
+    @Test
+    public void unknownTemplatesAreUnchanged() {
+
+        assertThat(sut.resolve("{javax.validation.constraints.NotNull.message}", Locale.ENGLISH),
+            is("{javax.validation.constraints.NotNull.message}"));
+        assertThat(sut.resolve("FAIL!", Locale.ENGLISH), is("FAIL!"));
+    }
+}
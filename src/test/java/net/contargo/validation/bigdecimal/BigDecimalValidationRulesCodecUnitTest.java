@@ -0,0 +1,105 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalValidationRulesCodec BigDecimalValidationRulesCodec}.
+ */
+public class BigDecimalValidationRulesCodecUnitTest {
+
+    @Test
+    public void readsWrittenRules() throws IOException {
+
+        Random random = new Random(3);
+        Map<String, BigDecimalValidationRules> rules = new LinkedHashMap<>();
+        rules.put("default", new BigDecimalValidationRules.Builder().build());
+        rules.put("numeric", new BigDecimalValidationRules.Builder().numeric(12, 4).minValue(0).build());
+
+        for (int i = 0; i < 50; i++) {
+            rules.put("tenant" + i + ".freight",
+                new BigDecimalValidationRules.Builder().minDecimalPlaces(random.nextInt(3)).maxDecimalPlaces(
+                    random.nextInt(20)).maxFractionalPlaces(random.nextInt(8)).maxPrecision(
+                    random.nextBoolean() ? Long.MAX_VALUE : random.nextInt(30)).minValue(
+                    new BigDecimal(new BigInteger(random.nextInt(100), random).negate(), random.nextInt(40) - 20))
+                .maxValue(new BigDecimal(new BigInteger(random.nextInt(100), random), random.nextInt(40) - 20))
+                .build());
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BigDecimalValidationRulesCodec.write(rules, output);
+
+        Map<String, BigDecimalValidationRules> read = BigDecimalValidationRulesCodec.read(new ByteArrayInputStream(
+                    output.toByteArray()));
+
+        assertThat(new ArrayList<>(read.keySet()), is(new ArrayList<>(rules.keySet())));
+
+        BigDecimalValidator validator = new BigDecimalValidator();
+
+        for (Map.Entry<String, BigDecimalValidationRules> entry : rules.entrySet()) {
+            BigDecimalValidationRules expected = entry.getValue();
+            BigDecimalValidationRules actual = read.get(entry.getKey());
+
+            assertThat(actual.getMinDecimalPlaces(), is(expected.getMinDecimalPlaces()));
+            assertThat(actual.getMaxDecimalPlaces(), is(expected.getMaxDecimalPlaces()));
+            assertThat(actual.getMaxFractionalPlaces(), is(expected.getMaxFractionalPlaces()));
+            assertThat(actual.getMaxPrecision(), is(expected.getMaxPrecision()));
+
+            // exactly the same bounds, including the scale
+            assertThat(actual.getMinValue(), is(expected.getMinValue()));
+            assertThat(actual.getMaxValue(), is(expected.getMaxValue()));
+
+            for (int i = 0; i < 100; i++) {
+                BigDecimal value = new BigDecimal(new BigInteger(random.nextInt(80), random), random.nextInt(30) - 10);
+
+                assertThat(validator.validate(value, actual).getFailMessage(),
+                    is(validator.validate(value, expected).getFailMessage()));
+            }
+        }
+    }
+
+
+    @Test
+    public void readsConsecutiveRulesOfOneStream() throws IOException {
+
+        Map<String, BigDecimalValidationRules> first = Collections.singletonMap("first",
+                new BigDecimalValidationRules.Builder().maxValue(10).build());
+        Map<String, BigDecimalValidationRules> second = Collections.singletonMap("second",
+                new BigDecimalValidationRules.Builder().numeric(5, 2).build());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BigDecimalValidationRulesCodec.write(first, output);
+        BigDecimalValidationRulesCodec.write(second, output);
+        output.write(42);
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+
+        assertThat(BigDecimalValidationRulesCodec.read(input).get("first").getMaxValue(), is(new BigDecimal("10.0")));
+        assertThat(BigDecimalValidationRulesCodec.read(input).get("second").getMaxPrecision(), is(5L));
+        assertThat(input.read(), is(42));
+    }
+
+
+    @Test(expected = IOException.class)
+    public void rejectsUnknownFormat() throws IOException {
+
+        BigDecimalValidationRulesCodec.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+}
@@ -0,0 +1,179 @@
+package net.contargo.validation.bigdecimal;
+
+import java.io.IOException;
+
+import java.math.BigDecimal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Read throughput of a shared {@link net.contargo.validation.bigdecimal.BigDecimalValidationRulesRegistry
+ * BigDecimalValidationRulesRegistry} with 1 to 32 threads, without reloads and while another thread rewrites the
+ * file and reloads it every few milliseconds.
+ *
+ * <p>Lookups read an immutable snapshot without locking, so the throughput during reloads should stay close to the
+ * one without. Run it from the IDE or with
+ * <code>java -cp ... net.contargo.validation.bigdecimal.BigDecimalValidationRulesRegistryBenchmark [seconds]</code>,
+ * it is not part of the unit tests.</p>
+ */
+public final class BigDecimalValidationRulesRegistryBenchmark {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32 };
+    private static final int NAMES = 64;
+    private static final long RELOAD_PAUSE_MILLIS = 2;
+    private static final BigDecimal VALUE = new BigDecimal("1234.56");
+
+    private static volatile int sink;
+
+    private BigDecimalValidationRulesRegistryBenchmark() {
+
+        // main only
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        long millis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 2000;
+
+        Path file = Files.createTempFile("rules", ".properties");
+
+        try {
+            write(file, 0);
+
+            try(BigDecimalValidationRulesRegistry registry = new BigDecimalValidationRulesRegistry(file)) {
+                // warm up both variants before measuring
+                run(registry, file, 4, false, millis);
+                run(registry, file, 4, true, millis);
+
+                System.out.println("threads    ops/s idle  ops/s reloading  reloads/s");
+
+                for (int threads : THREADS) {
+                    long[] idle = run(registry, file, threads, false, millis);
+                    long[] reloading = run(registry, file, threads, true, millis);
+
+                    System.out.println(String.format("%7d  %12d  %15d  %9d", threads, idle[0], reloading[0],
+                            reloading[1]));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+
+    /**
+     * @return  lookups and validations per second and reloads per second
+     */
+    private static long[] run(final BigDecimalValidationRulesRegistry registry, final Path file, int threads,
+        boolean reload, long millis) throws InterruptedException {
+
+        final AtomicLong operations = new AtomicLong();
+        final AtomicLong reloads = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads + (reload ? 1 : 0));
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final String[] names = new String[NAMES];
+        final BigDecimalValidator validator = new BigDecimalValidator();
+
+        for (int i = 0; i < NAMES; i++) {
+            names[i] = "tenant" + i + ".freight";
+        }
+
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * 7;
+
+            new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        long count = 0;
+                        int invalid = 0;
+
+                        try {
+                            start.await();
+
+                            while (running.get()) {
+                                for (int i = 0; i < 1024; i++) {
+                                    BigDecimalValidationRules rules = registry.getRules(names[(i + offset) % NAMES]);
+
+                                    if (!validator.validate(VALUE, rules).isValid()) {
+                                        invalid++;
+                                    }
+                                }
+
+                                count += 1024;
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        operations.addAndGet(count);
+
+                        // keeps the validation from being optimized away
+                        sink = invalid;
+                        done.countDown();
+                    }
+                }).start();
+        }
+
+        if (reload) {
+            new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        try {
+                            start.await();
+
+                            for (int generation = 1; running.get(); generation++) {
+                                write(file, generation);
+                                registry.reload();
+                                reloads.incrementAndGet();
+
+                                // a reload thread spinning on a core would take it from the readers
+                                Thread.sleep(RELOAD_PAUSE_MILLIS);
+                            }
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                }).start();
+        }
+
+        start.countDown();
+
+        long begin = System.nanoTime();
+        Thread.sleep(millis);
+        running.set(false);
+        done.await();
+
+        long elapsedMillis = (System.nanoTime() - begin) / 1000000;
+
+        return new long[] { operations.get() * 1000 / elapsedMillis, reloads.get() * 1000 / elapsedMillis };
+    }
+
+
+    private static void write(Path file, int generation) throws IOException {
+
+        StringBuilder properties = new StringBuilder();
+
+        for (int i = 0; i < NAMES; i++) {
+            properties.append("tenant").append(i).append(".freight.maxFractionalPlaces=2\n");
+            properties.append("tenant").append(i).append(".freight.maxValue=").append(10000 + generation % 100)
+                .append('\n');
+        }
+
+        Files.write(file, properties.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
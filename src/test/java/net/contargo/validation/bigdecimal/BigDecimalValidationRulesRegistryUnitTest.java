@@ -0,0 +1,210 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import java.math.BigDecimal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import static org.junit.Assert.fail;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.BigDecimalValidationRulesRegistry
+ * BigDecimalValidationRulesRegistry}.
+ */
+public class BigDecimalValidationRulesRegistryUnitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+
+        file = temporaryFolder.getRoot().toPath().resolve("rules.properties");
+
+        write("tenant1.freight.minDecimalPlaces=2\n" //
+            + "tenant1.freight.maxDecimalPlaces=6\n" //
+            + "tenant1.freight.maxFractionalPlaces=3\n" //
+            + "tenant1.freight.minValue=0\n" //
+            + "tenant1.freight.maxValue=250000.00\n" //
+            + "tenant2.maxValue=10\n");
+    }
+
+
+    @Test
+    public void loadsNamedRules() throws IOException {
+
+        BigDecimalValidationRulesRegistry sut = new BigDecimalValidationRulesRegistry(file);
+
+        assertThat(sut.getNames(), containsInAnyOrder("tenant1.freight", "tenant2"));
+
+        BigDecimalValidationRules rules = sut.getRules("tenant1.freight");
+        assertThat(rules.getMinDecimalPlaces(), is(2L));
+        assertThat(rules.getMaxDecimalPlaces(), is(6L));
+        assertThat(rules.getMaxFractionalPlaces(), is(3L));
+        assertThat(rules.getMinValue(), is(new BigDecimal("0")));
+        assertThat(rules.getMaxValue(), is(new BigDecimal("250000.00")));
+    }
+
+
+    @Test
+    public void usesBuilderDefaultsForMissingAttributes() throws IOException {
+
+        BigDecimalValidationRulesRegistry sut = new BigDecimalValidationRulesRegistry(file);
+        BigDecimalValidationRules defaults = new BigDecimalValidationRules.Builder().build();
+
+        BigDecimalValidationRules rules = sut.getRules("tenant2");
+        assertThat(rules.getMinDecimalPlaces(), is(defaults.getMinDecimalPlaces()));
+        assertThat(rules.getMaxDecimalPlaces(), is(defaults.getMaxDecimalPlaces()));
+        assertThat(rules.getMaxFractionalPlaces(), is(defaults.getMaxFractionalPlaces()));
+        assertThat(rules.getMinValue(), is(defaults.getMinValue()));
+        assertThat(rules.getMaxValue(), is(new BigDecimal("10")));
+    }
+
+
+    @Test
+    public void unknownRulesAreNull() throws IOException {
+
+        assertThat(new BigDecimalValidationRulesRegistry(file).getRules("unknown"), is(nullValue()));
+    }
+
+
+    @Test
+    public void reloadPublishesNewSnapshot() throws IOException {
+
+        BigDecimalValidationRulesRegistry sut = new BigDecimalValidationRulesRegistry(file);
+
+        write("tenant3.maxValue=5\n");
+        sut.reload();
+
+        assertThat(sut.getNames(), containsInAnyOrder("tenant3"));
+        assertThat(sut.getRules("tenant3").getMaxValue(), is(new BigDecimal("5")));
+    }
+
+
+    @Test
+    public void invalidReloadKeepsPreviousSnapshot() throws IOException {
+
+        BigDecimalValidationRulesRegistry sut = new BigDecimalValidationRulesRegistry(file);
+
+        write("tenant3.maxValue=abc\n");
+
+        try {
+            sut.reload();
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        assertThat(sut.getNames(), containsInAnyOrder("tenant1.freight", "tenant2"));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownAttribute() throws IOException {
+
+        write("tenant3.maxValues=5\n");
+
+        new BigDecimalValidationRulesRegistry(file);
+    }
+
+
+    @Test
+    public void watchingReloadsChangedFile() throws IOException, InterruptedException {
+
+        try(BigDecimalValidationRulesRegistry sut = new BigDecimalValidationRulesRegistry(file)) {
+            sut.startWatching();
+
+            replace("tenant3.maxValue=5\n");
+
+            long deadline = System.currentTimeMillis() + 30000;
+
+            while (sut.getRules("tenant3") == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertThat(sut.getRules("tenant3"), is(notNullValue()));
+        }
+    }
+
+
+    @Test
+    public void readersAlwaysSeeCompleteSnapshotWhileReloading() throws Exception {
+
+        final BigDecimalValidationRulesRegistry sut = new BigDecimalValidationRulesRegistry(file);
+        final BigDecimalValidator validator = new BigDecimalValidator();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(4);
+
+        for (int i = 0; i < 4; i++) {
+            new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        BigDecimal value = new BigDecimal("100.00");
+
+                        while (running.get()) {
+                            BigDecimalValidationRules rules = sut.getRules("tenant1.freight");
+
+                            if (rules == null || !validator.validate(value, rules).isValid()) {
+                                failures.incrementAndGet();
+                            }
+                        }
+
+                        done.countDown();
+                    }
+                }).start();
+        }
+
+        for (int i = 0; i < 50; i++) {
+            write("tenant1.freight.maxValue=" + (1000 + i) + "\n" + "tenant1.freight.minValue=0\n");
+            sut.reload();
+        }
+
+        running.set(false);
+        done.await();
+
+        assertThat(failures.get(), is(0));
+        assertThat(sut.getRules("tenant1.freight").getMaxValue(), is(new BigDecimal("1049")));
+    }
+
+
+    private void write(String content) throws IOException {
+
+        Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+
+    private void replace(String content) throws IOException {
+
+        Path temporary = Files.createTempFile(file.getParent(), "rules", ".tmp");
+        Files.write(temporary, content.getBytes(StandardCharsets.ISO_8859_1));
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,132 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.Random;
+
+
+/**
+ * Compares the min/max checks of {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator},
+ * which decide clear values by their double approximation, with plain {@link java.math.BigDecimal#compareTo(
+ * java.math.BigDecimal)} checks against the bounds.
+ *
+ * <p>Both variants run on the same mix of values: most of them clearly inside or outside the bounds, some next to a
+ * bound and some with more digits than are approximated. Run it from the IDE or with
+ * <code>java -cp ... net.contargo.validation.bigdecimal.BigDecimalValidatorBoundsBenchmark [rounds]</code>, it is
+ * not part of the unit tests.</p>
+ */
+public final class BigDecimalValidatorBoundsBenchmark {
+
+    private static final int VALUES = 1 << 16;
+
+    // only the min/max checks, the digit checks are the same for both variants
+    private static final int[] BOUND_CHECKS = {
+        BigDecimalValidator.TOO_BIG_CHECK, BigDecimalValidator.TOO_SMALL_CHECK
+    };
+
+    private BigDecimalValidatorBoundsBenchmark() {
+
+        // main only
+    }
+
+    public static void main(String[] args) {
+
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        BigDecimalValidationRules rules = new BigDecimalValidationRules.Builder().minValue(new BigDecimal("-123.02"))
+            .maxValue(new BigDecimal("250000.75")).build();
+        BigDecimal[] values = values(rules, new Random(23));
+        BigDecimalValidator validator = new BigDecimalValidator();
+
+        // warm up both variants before measuring
+        approximated(validator, values, rules, rounds / 10 + 1);
+        exact(values, rules, rounds / 10 + 1);
+
+        long start = System.nanoTime();
+        long invalid = approximated(validator, values, rules, rounds);
+        report("approximated", start, (long) rounds * VALUES, invalid);
+
+        start = System.nanoTime();
+        invalid = exact(values, rules, rounds);
+        report("compareTo", start, (long) rounds * VALUES, invalid);
+    }
+
+
+    private static long approximated(BigDecimalValidator validator, BigDecimal[] values,
+        BigDecimalValidationRules rules, int rounds) {
+
+        long invalid = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            for (BigDecimal value : values) {
+                if (!validator.validate(value, rules, BOUND_CHECKS).isValid()) {
+                    invalid++;
+                }
+            }
+        }
+
+        return invalid;
+    }
+
+
+    /**
+     * The min/max checks as they were before the approximation, with the same result object per value.
+     */
+    private static long exact(BigDecimal[] values, BigDecimalValidationRules rules, int rounds) {
+
+        long invalid = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            for (BigDecimal value : values) {
+                BigDecimalValidationResult result = new BigDecimalValidationResult();
+
+                if (value.compareTo(rules.getMaxValue()) > 0) {
+                    result.setFailMessage(BigDecimalValidator.TOO_BIG);
+                } else if (value.compareTo(rules.getMinValue()) < 0) {
+                    result.setFailMessage(BigDecimalValidator.TOO_SMALL);
+                }
+
+                if (!result.isValid()) {
+                    invalid++;
+                }
+            }
+        }
+
+        return invalid;
+    }
+
+
+    private static BigDecimal[] values(BigDecimalValidationRules rules, Random random) {
+
+        BigDecimal[] values = new BigDecimal[VALUES];
+
+        for (int i = 0; i < VALUES; i++) {
+            int kind = random.nextInt(20);
+
+            if (kind == 0) {
+                // next to a bound, decided by compareTo in both variants
+                BigDecimal bound = random.nextBoolean() ? rules.getMaxValue() : rules.getMinValue();
+                values[i] = bound.add(BigDecimal.valueOf(random.nextInt(201) - 100, 2 + random.nextInt(10)));
+            } else if (kind == 1) {
+                // more digits than are approximated
+                values[i] = new BigDecimal(new BigInteger(60 + random.nextInt(40), random), 10 + random.nextInt(10));
+            } else {
+                // clearly inside or outside
+                values[i] = new BigDecimal(BigInteger.valueOf(random.nextInt(2000000000) - 100000000),
+                        random.nextInt(5));
+            }
+        }
+
+        return values;
+    }
+
+
+    private static void report(String name, long start, long operations, long invalid) {
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(String.format("%-12s %8.1f M values/s  %d invalid", name, operations / seconds / 1e6,
+                invalid));
+    }
+}
@@ -0,0 +1,161 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+/**
+ * UnitTest of the min/max checks of {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+ * BigDecimalValidator}, which decide values clearly inside or outside the bounds by their double approximation.
+ *
+ * <p>For every bound the values next to it are validated and compared with the exact result of
+ * {@link java.math.BigDecimal#compareTo(java.math.BigDecimal)}.</p>
+ */
+public class BigDecimalValidatorBoundsUnitTest {
+
+    private static final String[] BOUNDS = {
+        "0", "1", "-1", "0.1", "-0.1", "0.01", "123.02", "-123.02", "100000000", "0.3", "0.30000000000000004",
+        "999999999999999", "1000000000000000", "9007199254740993", "-9007199254740993", "1E-22", "1E22",
+        "0.000000000000000000001", "1.7976931348623157E308", "-1.7976931348623157E308", "1E400", "-1E400", "1E-400",
+        "4.9E-324", "2.2250738585072014E-308", "123456789012345.6", "0.123456789012345678901234567890"
+    };
+
+    private BigDecimalValidator sut;
+    private Random random;
+
+    @Before
+    public void setUp() {
+
+        sut = new BigDecimalValidator();
+        random = new Random(11);
+    }
+
+
+    @Test
+    public void maxValueIsExactNextToBound() {
+
+        for (String bound : BOUNDS) {
+            BigDecimal maxValue = new BigDecimal(bound);
+            BigDecimalValidationRules rules = rules(new BigDecimal("-1E500"), maxValue);
+
+            for (BigDecimal value : valuesNextTo(maxValue)) {
+                String expected = value.compareTo(maxValue) > 0 ? BigDecimalValidator.TOO_BIG : null;
+
+                assertThat(value + " <= " + bound, sut.validate(value, rules).getFailMessage(), is(expected));
+            }
+        }
+    }
+
+
+    @Test
+    public void minValueIsExactNextToBound() {
+
+        for (String bound : BOUNDS) {
+            BigDecimal minValue = new BigDecimal(bound);
+            BigDecimalValidationRules rules = rules(minValue, new BigDecimal("1E500"));
+
+            for (BigDecimal value : valuesNextTo(minValue)) {
+                String expected = value.compareTo(minValue) < 0 ? BigDecimalValidator.TOO_SMALL : null;
+
+                assertThat(value + " >= " + bound, sut.validate(value, rules).getFailMessage(), is(expected));
+            }
+        }
+    }
+
+
+    @Test
+    public void approximationsOutsideTheMarginAreOrdered() {
+
+        for (String bound : BOUNDS) {
+            BigDecimal boundValue = new BigDecimal(bound);
+            BigDecimalValidationRules rules = rules(boundValue, boundValue);
+
+            for (BigDecimal value : valuesNextTo(boundValue)) {
+                double approximation = BigDecimalValidator.approximate(value);
+
+                if (approximation < rules.getMaxValueLower()) {
+                    assertThat(value + " < " + bound, value.compareTo(boundValue) < 0, is(true));
+                }
+
+                if (approximation > rules.getMaxValueUpper()) {
+                    assertThat(value + " > " + bound, value.compareTo(boundValue) > 0, is(true));
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void approximatesOnlyCheapValues() {
+
+        assertThat(Double.isNaN(BigDecimalValidator.approximate(new BigDecimal("123456789012345"))), is(false));
+        assertThat(Double.isNaN(BigDecimalValidator.approximate(new BigDecimal("1234567890123456"))), is(true));
+        assertThat(Double.isNaN(BigDecimalValidator.approximate(new BigDecimal("1E-23"))), is(true));
+    }
+
+
+    private List<BigDecimal> valuesNextTo(BigDecimal bound) {
+
+        List<BigDecimal> values = new ArrayList<>();
+        values.add(bound);
+
+        // neighbours in every decimal place which still has an approximation
+        for (int scale = -22; scale <= 22; scale++) {
+            BigDecimal step = BigDecimal.ONE.scaleByPowerOfTen(-scale);
+            BigDecimal rounded = bound.setScale(scale, RoundingMode.HALF_EVEN);
+
+            for (int i = -2; i <= 2; i++) {
+                values.add(rounded.add(step.multiply(BigDecimal.valueOf(i))));
+            }
+        }
+
+        // neighbours with up to 15 significant digits
+        for (int precision = 1; precision <= 15; precision++) {
+            BigDecimal rounded = bound.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+            BigDecimal step = BigDecimal.ONE.scaleByPowerOfTen(rounded.precision() - rounded.scale() - precision);
+
+            if (rounded.signum() != 0) {
+                values.add(rounded);
+                values.add(rounded.add(step));
+                values.add(rounded.subtract(step));
+            }
+        }
+
+        // neighbours of the double representation
+        double approximation = bound.doubleValue();
+
+        for (double neighbour : new double[] {
+                    approximation, Math.nextUp(approximation), Math.nextAfter(approximation, Double.NEGATIVE_INFINITY)
+                }) {
+            if (!Double.isInfinite(neighbour)) {
+                values.add(new BigDecimal(neighbour));
+                values.add(BigDecimal.valueOf(neighbour));
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            values.add(bound.add(BigDecimal.valueOf(random.nextGaussian()).scaleByPowerOfTen(-random.nextInt(30))));
+        }
+
+        return values;
+    }
+
+
+    private static BigDecimalValidationRules rules(BigDecimal minValue, BigDecimal maxValue) {
+
+        return new BigDecimalValidationRules.Builder().minDecimalPlaces(Long.MIN_VALUE).maxDecimalPlaces(
+                Long.MAX_VALUE).maxFractionalPlaces(Long.MAX_VALUE).minValue(minValue).maxValue(maxValue).build();
+    }
+}
@@ -0,0 +1,173 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.validation.ConstraintValidatorContext;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.mockito.Mockito.when;
+
+
+/**
+ * Concurrency stress test of shared {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+ * BigDecimalValidator} and {@link net.contargo.validation.bigdecimal.BigDecimalConstraintValidator
+ * BigDecimalConstraintValidator} instances.
+ *
+ * <p>Every thread validates the same values with the shared instances and compares the results with the ones of a
+ * single threaded run.</p>
+ */
+public class BigDecimalValidatorConcurrencyUnitTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+
+    private List<BigDecimal> values;
+    private BigDecimalValidationRules rules;
+
+    @Before
+    public void setUp() {
+
+        Random random = new Random(5);
+        values = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            values.add(new BigDecimal(new BigInteger(random.nextInt(64) + 1, random), random.nextInt(6) - 1));
+        }
+
+        rules = new BigDecimalValidationRules.Builder().minDecimalPlaces(1).maxDecimalPlaces(8).maxFractionalPlaces(3)
+            .minValue(0.5).maxValue(5000000).build();
+    }
+
+
+    @Test
+    public void sharedValidatorReturnsSameResults() throws Exception {
+
+        final BigDecimalValidator validator = new BigDecimalValidator();
+        final List<String> expected = validateAll(validator);
+
+        assertThat(runConcurrently(new Callable<Boolean>() {
+
+                    @Override
+                    public Boolean call() {
+
+                        boolean same = true;
+
+                        for (int round = 0; round < ROUNDS; round++) {
+                            same &= validateAll(validator).equals(expected);
+                        }
+
+                        return same;
+                    }
+                }), is(true));
+    }
+
+
+    @Test
+    public void sharedConstraintValidatorReturnsSameResults() throws Exception {
+
+        BigDecimalValidate annotation = Mockito.mock(BigDecimalValidate.class);
+        when(annotation.minDecimalPlaces()).thenReturn(1L);
+        when(annotation.maxDecimalPlaces()).thenReturn(8L);
+        when(annotation.maxFractionalPlaces()).thenReturn(3L);
+        when(annotation.maxPrecision()).thenReturn(9L);
+        when(annotation.minValue()).thenReturn(0.5);
+        when(annotation.maxValue()).thenReturn(5000000.0);
+
+        final BigDecimalConstraintValidator validator = new BigDecimalConstraintValidator();
+        validator.initialize(annotation);
+
+        final List<Boolean> expected = isValidAll(validator);
+
+        assertThat(runConcurrently(new Callable<Boolean>() {
+
+                    @Override
+                    public Boolean call() {
+
+                        boolean same = true;
+
+                        for (int round = 0; round < ROUNDS; round++) {
+                            same &= isValidAll(validator).equals(expected);
+                        }
+
+                        return same;
+                    }
+                }), is(true));
+    }
+
+
+    private boolean runConcurrently(final Callable<Boolean> task) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CyclicBarrier start = new CyclicBarrier(THREADS);
+
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+
+                            @Override
+                            public Boolean call() throws Exception {
+
+                                start.await();
+
+                                return task.call();
+                            }
+                        }));
+            }
+
+            boolean same = true;
+
+            for (Future<Boolean> future : futures) {
+                same &= future.get();
+            }
+
+            return same;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private List<String> validateAll(BigDecimalValidator validator) {
+
+        List<String> results = new ArrayList<>(values.size());
+
+        for (BigDecimal value : values) {
+            results.add(validator.validate(value, rules).getFailMessage());
+        }
+
+        return results;
+    }
+
+
+    private List<Boolean> isValidAll(BigDecimalConstraintValidator validator) {
+
+        ConstraintValidatorContext context = null;
+        List<Boolean> results = new ArrayList<>(values.size());
+
+        for (BigDecimal value : values) {
+            results.add(validator.isValid(value, context));
+        }
+
+        return results;
+    }
+}
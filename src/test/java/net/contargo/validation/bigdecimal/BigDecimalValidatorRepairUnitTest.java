@@ -0,0 +1,163 @@
+package net.contargo.validation.bigdecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.anyOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.empty;
+
+
+/**
+ * UnitTest of the repair mode of {@link net.contargo.validation.bigdecimal.BigDecimalValidator BigDecimalValidator}.
+ */
+public class BigDecimalValidatorRepairUnitTest {
+
+    private BigDecimalValidator sut;
+    private BigDecimalValidationRules rules;
+
+    @Before
+    public void setUp() {
+
+        sut = new BigDecimalValidator();
+        rules = new BigDecimalValidationRules.Builder().minDecimalPlaces(1).maxDecimalPlaces(4).maxFractionalPlaces(2)
+            .minValue(new BigDecimal("-10.5")).maxValue(new BigDecimal("1000.555")).build();
+    }
+
+
+    @Test
+    public void returnsValidValueItself() {
+
+        BigDecimal value = new BigDecimal("12.34");
+        BigDecimalRepairResult result = sut.repair(value, rules, RoundingMode.HALF_UP);
+
+        assertThat(result.isValid(), is(true));
+        assertThat(result.isRepaired(), is(false));
+        assertThat(result.getValue(), is(sameInstance(value)));
+        assertThat(result.getChanges(), is(empty()));
+    }
+
+
+    @Test
+    public void roundsFractionalPlaces() {
+
+        BigDecimalRepairResult result = sut.repair(new BigDecimal("12.345"), rules, RoundingMode.HALF_UP);
+
+        assertThat(result.isRepaired(), is(true));
+        assertThat(result.getValue(), is(new BigDecimal("12.35")));
+        assertThat(result.getChanges(), is((Object) EnumSet.of(BigDecimalRepairResult.Change.ROUNDED)));
+
+        assertThat(sut.repair(new BigDecimal("12.345"), rules, RoundingMode.DOWN).getValue(),
+            is(new BigDecimal("12.34")));
+    }
+
+
+    @Test
+    public void clampsToBoundsWithinTheDigitLimits() {
+
+        BigDecimalRepairResult tooBig = sut.repair(new BigDecimal("1500"), rules, RoundingMode.HALF_UP);
+
+        assertThat(tooBig.getValue(), is(new BigDecimal("1000.55")));
+        assertThat(tooBig.getChanges(), is((Object) EnumSet.of(BigDecimalRepairResult.Change.CLAMPED)));
+
+        BigDecimalRepairResult tooSmall = sut.repair(new BigDecimal("-11.239"), rules, RoundingMode.HALF_UP);
+
+        assertThat(tooSmall.getValue(), is(new BigDecimal("-10.5")));
+        assertThat(tooSmall.getChanges(),
+            is((Object) EnumSet.of(BigDecimalRepairResult.Change.ROUNDED, BigDecimalRepairResult.Change.CLAMPED)));
+    }
+
+
+    @Test
+    public void roundsSignificantDigits() {
+
+        BigDecimalValidationRules precisionRules = new BigDecimalValidationRules.Builder().maxDecimalPlaces(10)
+            .maxFractionalPlaces(5).maxPrecision(4).build();
+
+        assertThat(sut.repair(new BigDecimal("123.456"), precisionRules, RoundingMode.HALF_EVEN).getValue(),
+            is(new BigDecimal("123.5")));
+    }
+
+
+    @Test
+    public void decimalPlacesAndNullAreNotRepaired() {
+
+        BigDecimalValidationRules decimalRules = new BigDecimalValidationRules.Builder().minDecimalPlaces(3)
+            .maxDecimalPlaces(4).build();
+
+        BigDecimalRepairResult result = sut.repair(new BigDecimal("5"), decimalRules, RoundingMode.HALF_UP);
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getValue(), is(nullValue()));
+        assertThat(result.getFailMessage(), is(BigDecimalValidator.DECIMAL_OUT_OF_RANGE));
+
+        // not clamped to maxValue, although that would comply
+        BigDecimalValidationRules boundRules = new BigDecimalValidationRules.Builder().maxDecimalPlaces(4).maxValue(
+                1000).build();
+
+        result = sut.repair(new BigDecimal("123456"), boundRules, RoundingMode.HALF_UP);
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getValue(), is(nullValue()));
+        assertThat(result.getChanges(), is(empty()));
+        assertThat(result.getFailMessage(), is(BigDecimalValidator.DECIMAL_OUT_OF_RANGE));
+
+        assertThat(sut.repair(null, rules, RoundingMode.HALF_UP).getFailMessage(), is(BigDecimalValidator.NULL));
+    }
+
+
+    @Test
+    public void unnecessaryRoundingIsNotApplied() {
+
+        BigDecimalRepairResult result = sut.repair(new BigDecimal("12.345"), rules, RoundingMode.UNNECESSARY);
+
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getFailMessage(), is(BigDecimalValidator.FRACTIONAL_OUT_OF_RANGE));
+    }
+
+
+    @Test
+    public void repairsBatchIntoOutputArray() {
+
+        Random random = new Random(23);
+        BigDecimal[] values = new BigDecimal[2000];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new BigDecimal(BigInteger.valueOf(random.nextInt(4000000) - 200000), random.nextInt(5));
+        }
+
+        values[7] = null;
+
+        BigDecimal[] repaired = new BigDecimal[values.length];
+        int failed = sut.repair(values, rules, RoundingMode.HALF_EVEN, repaired);
+
+        int expectedFailed = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            BigDecimalRepairResult expected = sut.repair(values[i], rules, RoundingMode.HALF_EVEN);
+
+            assertThat(repaired[i], is(expected.getValue()));
+
+            if (expected.isValid()) {
+                assertThat(sut.validate(repaired[i], rules).isValid(), is(true));
+            } else {
+                // only null and values with too many decimal places are not repaired
+                assertThat(expected.getFailMessage(),
+                    anyOf(is(BigDecimalValidator.NULL), is(BigDecimalValidator.DECIMAL_OUT_OF_RANGE)));
+                expectedFailed++;
+            }
+        }
+
+        assertThat(failed, is(expectedFailed));
+    }
+}
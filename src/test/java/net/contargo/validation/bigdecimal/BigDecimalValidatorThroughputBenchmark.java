@@ -0,0 +1,189 @@
+package net.contargo.validation.bigdecimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Throughput benchmark of shared and per-thread {@link net.contargo.validation.bigdecimal.BigDecimalValidator
+ * BigDecimalValidator} and {@link net.contargo.validation.bigdecimal.BigDecimalConstraintValidator
+ * BigDecimalConstraintValidator} instances with 1 to 64 threads.
+ *
+ * <p>Validators are immutable after initialization, so shared instances should scale like per-thread instances. A
+ * visibly lower throughput of the shared instances points to contention or false sharing. Run it from the IDE or
+ * with <code>java -cp ... net.contargo.validation.bigdecimal.BigDecimalValidatorThroughputBenchmark [seconds]</code>,
+ * it is not part of the unit tests.</p>
+ */
+public final class BigDecimalValidatorThroughputBenchmark {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+    private static final int VALUES = 4096;
+
+    private static volatile int sink;
+
+    private BigDecimalValidatorThroughputBenchmark() {
+
+        // main only
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        long millis = args.length > 0 ? Long.parseLong(args[0]) * 1000 : 2000;
+
+        Random random = new Random(5);
+        BigDecimal[] values = new BigDecimal[VALUES];
+
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = new BigDecimal(new BigInteger(random.nextInt(64) + 1, random), random.nextInt(6) - 1);
+        }
+
+        BigDecimalValidate annotation = Bean.class.getDeclaredField("amount").getAnnotation(BigDecimalValidate.class);
+        BigDecimalValidationRules rules = new BigDecimalValidationRules.Builder().minDecimalPlaces(
+                annotation.minDecimalPlaces()).maxDecimalPlaces(annotation.maxDecimalPlaces()).maxFractionalPlaces(
+                annotation.maxFractionalPlaces()).minValue(annotation.minValue()).maxValue(annotation.maxValue())
+            .build();
+
+        // warm up all variants before measuring
+        for (Variant variant : Variant.values()) {
+            run(variant, values, rules, annotation, 4, millis);
+        }
+
+        System.out.println("threads  shared ops/s  per-thread ops/s  shared constraint ops/s  "
+            + "per-thread constraint ops/s");
+
+        for (int threads : THREADS) {
+            long[] results = new long[Variant.values().length];
+
+            for (Variant variant : Variant.values()) {
+                results[variant.ordinal()] = run(variant, values, rules, annotation, threads, millis);
+            }
+
+            System.out.println(String.format("%7d  %12d  %16d  %23d  %27d", threads, results[0], results[1],
+                    results[2], results[3]));
+        }
+    }
+
+
+    private static long run(Variant variant, final BigDecimal[] values, final BigDecimalValidationRules rules,
+        BigDecimalValidate annotation, int threads, long millis) throws InterruptedException {
+
+        final Check sharedCheck = variant.newCheck(rules, annotation);
+        final AtomicLong operations = new AtomicLong();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            final Check check = variant.shared ? sharedCheck : variant.newCheck(rules, annotation);
+            final int offset = t * 31;
+
+            new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        long count = 0;
+                        int invalid = 0;
+
+                        try {
+                            start.await();
+
+                            while (running.get()) {
+                                for (int i = 0; i < VALUES; i++) {
+                                    if (!check.isValid(values[(i + offset) & (VALUES - 1)])) {
+                                        invalid++;
+                                    }
+                                }
+
+                                count += VALUES;
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        operations.addAndGet(count);
+
+                        // keeps the validation from being optimized away
+                        sink = invalid;
+                        done.countDown();
+                    }
+                }).start();
+        }
+
+        // the clock starts when the threads are released
+        start.countDown();
+
+        long begin = System.nanoTime();
+        Thread.sleep(millis);
+        running.set(false);
+        done.await();
+
+        return operations.get() * 1000000000L / (System.nanoTime() - begin);
+    }
+
+    private enum Variant {
+
+        SHARED(true, false),
+        PER_THREAD(false, false),
+        SHARED_CONSTRAINT(true, true),
+        PER_THREAD_CONSTRAINT(false, true);
+
+        private final boolean shared;
+        private final boolean constraint;
+
+        Variant(boolean shared, boolean constraint) {
+
+            this.shared = shared;
+            this.constraint = constraint;
+        }
+
+        private Check newCheck(final BigDecimalValidationRules rules, BigDecimalValidate annotation) {
+
+            if (constraint) {
+                final BigDecimalConstraintValidator validator = new BigDecimalConstraintValidator();
+                validator.initialize(annotation);
+
+                return new Check() {
+
+                    @Override
+                    public boolean isValid(BigDecimal value) {
+
+                        return validator.isValid(value, null);
+                    }
+                };
+            }
+
+            final BigDecimalValidator validator = new BigDecimalValidator();
+
+            return new Check() {
+
+                @Override
+                public boolean isValid(BigDecimal value) {
+
+                    return validator.validate(value, rules).isValid();
+                }
+            };
+        }
+    }
+
+    private interface Check {
+
+        boolean isValid(BigDecimal value);
+    }
+
+    /**
+     * Source of the annotation the constraint validators are initialized with.
+     */
+    private static final class Bean {
+
+        @BigDecimalValidate(
+            minDecimalPlaces = 1, maxDecimalPlaces = 8, maxFractionalPlaces = 3, minValue = 0.5, maxValue = 5000000
+        )
+        private BigDecimal amount;
+    }
+}
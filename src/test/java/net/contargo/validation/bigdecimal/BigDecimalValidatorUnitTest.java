@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 
 import javax.validation.ConstraintValidatorContext;
 
@@ -357,6 +358,119 @@ public class BigDecimalValidatorUnitTest {
     }
 
 
+    @Test
+    public void validateMaxPrecision() {
+
+        bigDecimalValidationRules = new BigDecimalValidationRules.Builder().maxDecimalPlaces(20)
+            .maxFractionalPlaces(20).maxPrecision(5).build();
+
+        isValid(sut.validate(new BigDecimal("123.45"), bigDecimalValidationRules));
+        isValid(sut.validate(new BigDecimal("0.00012345"), bigDecimalValidationRules));
+        isValid(sut.validate(new BigDecimal("1.2345E+10"), bigDecimalValidationRules));
+        isNotValid(sut.validate(new BigDecimal("123.456"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.precisionoutofrange}");
+        isNotValid(sut.validate(new BigDecimal("-1.00000"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.precisionoutofrange}");
+    }
+
+
+    @Test
+    public void validateMaxPrecisionOfInflatedValues() {
+
+        for (int digits = 15; digits <= 400; digits++) {
+            BigDecimal ninesValue = new BigDecimal(BigInteger.TEN.pow(digits).subtract(BigInteger.ONE), digits - 1);
+            BigDecimal powerValue = new BigDecimal(BigInteger.TEN.pow(digits), digits);
+
+            for (long maxPrecision = digits - 2; maxPrecision <= digits + 2; maxPrecision++) {
+                bigDecimalValidationRules = new BigDecimalValidationRules.Builder().maxFractionalPlaces(1000)
+                    .maxPrecision(maxPrecision).build();
+
+                assertThat(sut.validate(ninesValue, bigDecimalValidationRules).isValid(),
+                    is(ninesValue.precision() <= maxPrecision));
+                assertThat(sut.validate(powerValue, bigDecimalValidationRules).isValid(),
+                    is(powerValue.precision() <= maxPrecision));
+            }
+        }
+    }
+
+
+    @Test
+    public void validateNumeric() {
+
+        bigDecimalValidationRules = new BigDecimalValidationRules.Builder().numeric(5, 2).build();
+
+        assertThat(bigDecimalValidationRules.isPrecisionImplied(), is(true));
+        isValid(sut.validate(new BigDecimal("123.45"), bigDecimalValidationRules));
+        isValid(sut.validate(new BigDecimal("0.45"), bigDecimalValidationRules));
+        isNotValid(sut.validate(new BigDecimal("1234.5"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.decimaloutofrange}");
+        isNotValid(sut.validate(new BigDecimal("12.345"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.fractionaloutofrange}");
+
+        // NUMERIC(2,2) allows the leading zero, but no digit before the point
+        bigDecimalValidationRules = new BigDecimalValidationRules.Builder().numeric(2, 2).build();
+
+        assertThat(bigDecimalValidationRules.isPrecisionImplied(), is(false));
+        isValid(sut.validate(new BigDecimal("0.99"), bigDecimalValidationRules));
+        isNotValid(sut.validate(new BigDecimal("1.99"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.precisionoutofrange}");
+    }
+
+
+    @Test
+    public void validateNumericWithScaleOfPrecision() {
+
+        bigDecimalValidationRules = new BigDecimalValidationRules.Builder().numeric(2, 2).build();
+
+        isValid(sut.validate(new BigDecimal("0.99"), bigDecimalValidationRules));
+        isValid(sut.validate(new BigDecimal("-0.99"), bigDecimalValidationRules));
+        isNotValid(sut.validate(new BigDecimal("9.9"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.toobig}");
+        isNotValid(sut.validate(new BigDecimal("1.0"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.toobig}");
+        isNotValid(sut.validate(new BigDecimal("5"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.toobig}");
+        isNotValid(sut.validate(new BigDecimal("-1"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.toosmall}");
+
+        // a bound set before is only narrowed
+        bigDecimalValidationRules = new BigDecimalValidationRules.Builder().minValue(0).numeric(2, 2).build();
+
+        isNotValid(sut.validate(new BigDecimal("-0.5"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.toosmall}");
+    }
+
+
+    @Test
+    public void validateNumericWithScaleGreaterThanPrecision() {
+
+        bigDecimalValidationRules = new BigDecimalValidationRules.Builder().numeric(2, 3).build();
+
+        isValid(sut.validate(new BigDecimal("0.099"), bigDecimalValidationRules));
+        isValid(sut.validate(new BigDecimal("-0.001"), bigDecimalValidationRules));
+        isNotValid(sut.validate(new BigDecimal("0.1"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.toobig}");
+        isNotValid(sut.validate(new BigDecimal("-0.5"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.toosmall}");
+        isNotValid(sut.validate(new BigDecimal("0.0999"), bigDecimalValidationRules),
+            "{net.contargo.validation.bigdecimal.fractionaloutofrange}");
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rulesRejectNullMinValue() {
+
+        new BigDecimalValidationRules.Builder().minValue(null);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rulesRejectNullMaxValue() {
+
+        new BigDecimalValidationRules.Builder().maxValue(null);
+    }
+
+
     private void isValid(BigDecimalValidationResult result) {
 
         assertThat(result.isValid(), is(true));
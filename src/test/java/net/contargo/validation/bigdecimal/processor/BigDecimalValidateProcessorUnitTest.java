@@ -0,0 +1,367 @@
+package net.contargo.validation.bigdecimal.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import net.contargo.validation.bigdecimal.BigDecimalBeanValidator;
+import net.contargo.validation.bigdecimal.BigDecimalValidationResult;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.math.BigDecimal;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+
+
+/**
+ * UnitTest of {@link net.contargo.validation.bigdecimal.processor.BigDecimalValidateProcessor
+ * BigDecimalValidateProcessor}.
+ */
+public class BigDecimalValidateProcessorUnitTest {
+
+    private static final String PRICE = "package com.example;\n" //
+        + "import java.math.BigDecimal;\n" //
+        + "import net.contargo.validation.bigdecimal.BigDecimalValidate;\n" //
+        + "public class Price {\n" //
+        + "    @BigDecimalValidate(minDecimalPlaces = 1, maxDecimalPlaces = 3, maxFractionalPlaces = 2,\n" //
+        + "        minValue = 0.00, maxValue = 500.00)\n" //
+        + "    BigDecimal value;\n" //
+        + "    @BigDecimalValidate(maxFractionalPlaces = 1)\n" //
+        + "    private BigDecimal discount;\n" //
+        + "    public BigDecimal getDiscount() { return discount; }\n" //
+        + "    private BigDecimal tax;\n" //
+        + "    @BigDecimalValidate(maxFractionalPlaces = 3)\n" //
+        + "    public BigDecimal getTax() { return tax; }\n" //
+        + "    public Price(String value, String discount, String tax) {\n" //
+        + "        this.value = value == null ? null : new BigDecimal(value);\n" //
+        + "        this.discount = discount == null ? null : new BigDecimal(discount);\n" //
+        + "        this.tax = tax == null ? null : new BigDecimal(tax);\n" //
+        + "    }\n" //
+        + "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File sources;
+    private File classes;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+    private URLClassLoader loader;
+
+    @Before
+    public void setUp() throws IOException {
+
+        sources = temporaryFolder.newFolder("sources");
+        classes = temporaryFolder.newFolder("classes");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+
+    @Test
+    public void generatesValidatorWithSameResults() throws Exception {
+
+        assertThat(compile("Price", PRICE), is(true));
+
+        BigDecimalBeanValidator<Object> validator = newValidator("com.example.PriceBigDecimalBeanValidator");
+
+        assertThat(validator.validate(newPrice("250.00", "0.5", "0.125")).isEmpty(), is(true));
+        assertThat(validator.validate(newPrice(null, null, null)).isEmpty(), is(true));
+
+        Map<String, BigDecimalValidationResult> failures = validator.validate(newPrice("500.01", "0.55", "1.0001"));
+
+        assertThat(failures.keySet(), contains("value", "discount", "tax"));
+        assertThat(failures.get("value").getFailMessage(), is("{net.contargo.validation.bigdecimal.toobig}"));
+        assertThat(failures.get("discount").getFailMessage(),
+            is("{net.contargo.validation.bigdecimal.fractionaloutofrange}"));
+        assertThat(failures.get("tax").getFailMessage(),
+            is("{net.contargo.validation.bigdecimal.fractionaloutofrange}"));
+    }
+
+
+    @Test
+    public void skipsPrivateFieldWithoutGetter() throws IOException {
+
+        String source = "package com.example;\n" //
+            + "public class Skipped {\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "    private java.math.BigDecimal value;\n" //
+            + "}\n";
+
+        assertSkipped(source, "private field without getter");
+    }
+
+
+    @Test
+    public void skipsPrivateFieldWithGetterOfOtherType() throws IOException {
+
+        String source = "package com.example;\n" //
+            + "public class Skipped {\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "    private java.math.BigDecimal amount;\n" //
+            + "    public String getAmount() { return String.valueOf(amount); }\n" //
+            + "}\n";
+
+        assertSkipped(source, "does not return java.math.BigDecimal");
+    }
+
+
+    @Test
+    public void validatesAnnotatedMembersOfSuperClasses() throws Exception {
+
+        String parent = "package com.example;\n" //
+            + "import java.math.BigDecimal;\n" //
+            + "import net.contargo.validation.bigdecimal.BigDecimalValidate;\n" //
+            + "public class Parent<T> {\n" //
+            + "    @BigDecimalValidate(maxValue = 100)\n" //
+            + "    BigDecimal amount;\n" //
+            + "    @BigDecimalValidate(maxFractionalPlaces = 1)\n" //
+            + "    private BigDecimal fee;\n" //
+            + "    public BigDecimal getFee() { return fee; }\n" //
+            + "    public Parent(String amount, String fee) {\n" //
+            + "        this.amount = new BigDecimal(amount);\n" //
+            + "        this.fee = new BigDecimal(fee);\n" //
+            + "    }\n" //
+            + "}\n";
+        String child = "package com.example;\n" //
+            + "import java.math.BigDecimal;\n" //
+            + "import net.contargo.validation.bigdecimal.BigDecimalValidate;\n" //
+            + "public class Child extends Parent<String> {\n" //
+            + "    @BigDecimalValidate(maxValue = 10)\n" //
+            + "    BigDecimal amount;\n" //
+            + "    public Child(String parentAmount, String fee, String amount) {\n" //
+            + "        super(parentAmount, fee);\n" //
+            + "        this.amount = new BigDecimal(amount);\n" //
+            + "    }\n" //
+            + "}\n";
+
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("com.example.Parent", parent);
+        files.put("com.example.Child", child);
+
+        assertThat(compile(files), is(true));
+
+        BigDecimalBeanValidator<Object> validator = newValidator("com.example.ChildBigDecimalBeanValidator");
+        Class<?> childType = loader().loadClass("com.example.Child");
+
+        assertThat(validator.validate(childType.getConstructor(String.class, String.class, String.class).newInstance(
+                    "50", "0.5", "5")).isEmpty(), is(true));
+
+        // the hidden field of the super class is validated by its own rules
+        Map<String, BigDecimalValidationResult> failures = validator.validate(childType.getConstructor(String.class,
+                    String.class, String.class).newInstance("150", "0.55", "5"));
+
+        assertThat(failures.keySet(), contains("amount", "fee"));
+        assertThat(failures.get("amount").getFailMessage(), is("{net.contargo.validation.bigdecimal.toobig}"));
+        assertThat(failures.get("fee").getFailMessage(),
+            is("{net.contargo.validation.bigdecimal.fractionaloutofrange}"));
+    }
+
+
+    @Test
+    public void skipsNonPublicMembersOfSuperClassesInOtherPackages() throws IOException {
+
+        String parent = "package com.example.base;\n" //
+            + "public class Parent {\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "    protected java.math.BigDecimal amount;\n" //
+            + "}\n";
+        String child = "package com.example;\n" //
+            + "public class Skipped extends com.example.base.Parent {\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "    java.math.BigDecimal value;\n" //
+            + "}\n";
+
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("com.example.base.Parent", parent);
+        files.put("com.example.Skipped", child);
+
+        assertThat(compile(files), is(true));
+        assertThat(messages(), containsString("have to be public"));
+        assertThat(generatedFiles(), is(new String[] { "Skipped.java" }));
+    }
+
+
+    @Test
+    public void skipsOtherTypesThanBigDecimal() throws IOException {
+
+        String source = "package com.example;\n" //
+            + "public class Skipped {\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "    java.math.BigDecimal amount;\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "    String value;\n" //
+            + "}\n";
+
+        assertSkipped(source, "only java.math.BigDecimal");
+    }
+
+
+    @Test
+    public void skipsStaticMembers() throws IOException {
+
+        String source = "package com.example;\n" //
+            + "public class Skipped {\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "    static java.math.BigDecimal value;\n" //
+            + "}\n";
+
+        assertSkipped(source, "static members");
+    }
+
+
+    @Test
+    public void skipsLocalAndAnonymousClasses() throws IOException {
+
+        String source = "package com.example;\n" //
+            + "public class Skipped {\n" //
+            + "    Object bean = new Object() {\n" //
+            + "        @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "        java.math.BigDecimal value;\n" //
+            + "    };\n" //
+            + "    void method() {\n" //
+            + "        class Local {\n" //
+            + "            @net.contargo.validation.bigdecimal.BigDecimalValidate\n" //
+            + "            java.math.BigDecimal value;\n" //
+            + "        }\n" //
+            + "    }\n" //
+            + "}\n";
+
+        assertThat(compile("Skipped", source), is(true));
+        assertThat(generatedFiles(), is(new String[] { "Skipped.java" }));
+    }
+
+
+    @Test
+    public void skipsBoundsWhichAreNotFinite() throws IOException {
+
+        String source = "package com.example;\n" //
+            + "public class Skipped {\n" //
+            + "    @net.contargo.validation.bigdecimal.BigDecimalValidate(maxValue = Double.POSITIVE_INFINITY)\n" //
+            + "    java.math.BigDecimal value;\n" //
+            + "}\n";
+
+        assertSkipped(source, "have to be finite");
+    }
+
+
+    private void assertSkipped(String source, String reason) throws IOException {
+
+        assertThat(compile("Skipped", source), is(true));
+        assertThat(messages(), containsString(reason));
+        assertThat(generatedFiles(), is(new String[] { "Skipped.java" }));
+    }
+
+
+    private String[] generatedFiles() {
+
+        List<String> files = new ArrayList<>();
+
+        for (File file : new File(sources, "com/example").listFiles()) {
+            if (file.isFile()) {
+                files.add(file.getName());
+            }
+        }
+
+        Collections.sort(files);
+
+        return files.toArray(new String[files.size()]);
+    }
+
+
+    private boolean compile(String name, String source) throws IOException {
+
+        return compile(Collections.singletonMap("com.example." + name, source));
+    }
+
+
+    /**
+     * @param  files  sources by the qualified names of their types
+     */
+    private boolean compile(Map<String, String> files) throws IOException {
+
+        List<File> sourceFiles = new ArrayList<>();
+
+        for (Map.Entry<String, String> entry : files.entrySet()) {
+            File file = new File(sources, entry.getKey().replace('.', '/') + ".java");
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), entry.getValue().getBytes(StandardCharsets.UTF_8));
+            sourceFiles.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", classes.getPath(), "-s",
+                        sources.getPath()), null,
+                    fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+            task.setProcessors(Collections.singletonList(new BigDecimalValidateProcessor()));
+
+            return task.call();
+        }
+    }
+
+
+    private String messages() {
+
+        StringBuilder messages = new StringBuilder();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            messages.append(diagnostic.getMessage(null)).append('\n');
+        }
+
+        return messages.toString();
+    }
+
+
+    private Object newPrice(String value, String discount, String tax) throws Exception {
+
+        return loader().loadClass("com.example.Price").getConstructor(String.class, String.class, String.class)
+            .newInstance(value, discount, tax);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private BigDecimalBeanValidator<Object> newValidator(String name) throws Exception {
+
+        return (BigDecimalBeanValidator<Object>) loader().loadClass(name).getDeclaredConstructor().newInstance();
+    }
+
+
+    private ClassLoader loader() throws IOException {
+
+        if (loader == null) {
+            loader = new URLClassLoader(new URL[] { classes.toURI().toURL() }, getClass().getClassLoader());
+        }
+
+        return loader;
+    }
+}